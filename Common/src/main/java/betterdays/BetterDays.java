@@ -26,7 +26,8 @@ public class BetterDays {
             clientConfig.addLoadListener((config, flag) -> ConfigHandler.init());
         }
 
-        SpectreConfigLoader.add(SpectreConfig.Type.COMMON, ConfigHandler.COMMON_SPEC, MODID);
+        SpectreConfig commonConfig = SpectreConfigLoader.add(SpectreConfig.Type.COMMON, ConfigHandler.COMMON_SPEC, MODID);
+        commonConfig.addLoadListener((config, flag) -> ConfigHandler.Common.refreshSnapshot());
     }
 
 }
@@ -25,18 +25,26 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.world.level.LevelAccessor;
 
 import betterdays.config.ConfigHandler;
+import betterdays.network.TimeSyncPayload;
 import betterdays.time.Time;
 import betterdays.wrappers.ClientLevelWrapper;
 
 /**
  * This class detects time updates from the server and interpolates the changes over time to smooth
  * out any time jumps.
+ *
+ * <p>When the server sends {@link TimeSyncPayload}, time is instead predicted from the last payload
+ * received, and any difference between the prediction and a newer payload is smoothed out over
+ * {@link #CORRECTION_TICKS} ticks.
  */
 public class TimeInterpolator {
 
     /** The current {@code TimeInterpolator} instance running. */
     public static TimeInterpolator instance;
 
+    /** The number of ticks over which a correction from a new {@code TimeSyncPayload} decays. */
+    private static final double CORRECTION_TICKS = 10D;
+
     /** The level whose time this object interpolates. */
     public final ClientLevelWrapper level;
     private boolean initialized;
@@ -45,6 +53,11 @@ public class TimeInterpolator {
     private long lastTime;
     private float lastPartialTickTime;
 
+    private TimeSyncPayload anchor;
+    private TimeSyncPayload pendingAnchor;
+    private double predictedTime;
+    private double correction;
+
     /**
      * Event listener that is called when a new level is loaded.
      */
@@ -65,6 +78,15 @@ public class TimeInterpolator {
         }
     }
 
+    /**
+     * Event listener that is called when a {@code TimeSyncPayload} is received from the server.
+     */
+    public static void onTimeSync(TimeSyncPayload payload) {
+        if (instance != null) {
+            instance.pendingAnchor = payload;
+        }
+    }
+
     /**
      * Event listener that is called on every render tick
      */
@@ -124,8 +146,52 @@ public class TimeInterpolator {
         }
 
         float tickTimeDelta = getPartialTimeDelta(partialTickTime);
-        updateTargetTime();
-        interpolateTime(tickTimeDelta);
+
+        if (pendingAnchor != null || anchor != null) {
+            predictTime(tickTimeDelta, partialTickTime);
+        } else {
+            updateTargetTime();
+            interpolateTime(tickTimeDelta);
+        }
+    }
+
+    /**
+     * Sets the time to the time predicted from the last {@code TimeSyncPayload}. When a new payload
+     * has arrived, the jump between the old and new prediction is carried in {@link #correction}
+     * and decays over {@link #CORRECTION_TICKS} ticks.
+     *
+     * @param tickTimeDelta  the amount of time that has passed since this method was last run.
+     *                       Measured in fractions of ticks.
+     * @param partialTickTime  the current partial tick time
+     */
+    private void predictTime(float tickTimeDelta, float partialTickTime) {
+        if (pendingAnchor != null) {
+            double displayedTime = anchor != null ? predictedTime + correction : lastTime;
+
+            anchor = pendingAnchor;
+            pendingAnchor = null;
+            correction = displayedTime - predict(partialTickTime);
+
+            // Prevent large interpolation distances
+            if (Math.abs(correction) > Time.DAY_TICKS) {
+                correction %= Time.DAY_TICKS;
+            }
+        }
+
+        predictedTime = predict(partialTickTime);
+        correction *= Math.exp(-tickTimeDelta / CORRECTION_TICKS);
+
+        setDayTime((long) (predictedTime + correction));
+    }
+
+    /**
+     * {@return the time predicted from {@link #anchor} at the current partial tick}
+     * @param partialTickTime  the current partial tick time
+     */
+    private double predict(float partialTickTime) {
+        double elapsed = level.get().getGameTime() - anchor.gameTime() + partialTickTime;
+
+        return anchor.dayTime() + anchor.fraction() + elapsed * anchor.speed();
     }
 
     /**
@@ -0,0 +1,93 @@
+package betterdays.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.level.storage.LevelResource;
+
+import betterdays.BetterDays;
+import betterdays.time.profiling.TickProfiler;
+
+/**
+ * The {@code /betterdays} command.
+ *
+ * <p>{@code /betterdays profile start|stop|report [file]} controls a {@link TickProfiler} session and
+ * shows its results in chat, optionally also writing them to a file in the world folder.
+ */
+public class BetterDaysCommand {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Registers the command with {@code dispatcher}.
+     * @param dispatcher  the server command dispatcher
+     */
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(BetterDays.MODID)
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("profile")
+                        .then(Commands.literal("start").executes(BetterDaysCommand::startProfile))
+                        .then(Commands.literal("stop").executes(BetterDaysCommand::stopProfile))
+                        .then(Commands.literal("report")
+                                .executes(context -> reportProfile(context, false))
+                                .then(Commands.literal("file").executes(context -> reportProfile(context, true))))));
+    }
+
+    private static int startProfile(CommandContext<CommandSourceStack> context) {
+        TickProfiler.start();
+        context.getSource().sendSuccess(() -> Component.literal("Better Days profiling started."), true);
+
+        return 1;
+    }
+
+    private static int stopProfile(CommandContext<CommandSourceStack> context) {
+        if (!TickProfiler.isRunning()) {
+            context.getSource().sendFailure(Component.literal("Better Days profiling is not running."));
+            return 0;
+        }
+
+        TickProfiler.stop();
+        context.getSource().sendSuccess(() -> Component.literal("Better Days profiling stopped."), true);
+
+        return 1;
+    }
+
+    private static int reportProfile(CommandContext<CommandSourceStack> context, boolean toFile) {
+        CommandSourceStack source = context.getSource();
+        List<String> lines = TickProfiler.report();
+
+        source.sendSuccess(() -> Component.literal("Better Days profile (times in µs):"), false);
+        for (String line : lines) {
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+
+        if (toFile) {
+            Path file = source.getServer().getWorldPath(LevelResource.ROOT)
+                    .resolve(BetterDays.MODID)
+                    .resolve("profile-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".txt");
+
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, lines);
+                source.sendSuccess(() -> Component.literal("Profile written to " + file.normalize()), false);
+            } catch (IOException e) {
+                BetterDays.LOGGER.error("Error writing profile.", e);
+                source.sendFailure(Component.literal("Could not write profile: " + e.getMessage()));
+                return 0;
+            }
+        }
+
+        return 1;
+    }
+
+}
@@ -39,8 +39,12 @@ import betterdays.client.gui.ScreenAlignment;
 import betterdays.message.ChatTypeOptions;
 import betterdays.message.TemplateMessage;
 import betterdays.platform.Services;
+import betterdays.time.effects.BlockEntityScope;
+import betterdays.time.effects.BlockEntityTypeFilter;
 import betterdays.time.effects.EffectCondition;
+import betterdays.time.effects.RandomTickMode;
 import betterdays.time.Time;
+import betterdays.time.TimeSpeedSchedule;
 
 public class ConfigHandler {
 
@@ -139,27 +143,52 @@ public class ConfigHandler {
     }
 
     public static class Common {
+        private static volatile CommonSnapshot currentSnapshot;
+        // Block entity types can be registered by any mod until a server starts
+        private static volatile boolean registriesFrozen;
+
         private final SpectreConfigSpec.DoubleValue daySpeed;
         private final SpectreConfigSpec.DoubleValue nightSpeed;
         private final SpectreConfigSpec.DoubleValue dayStart;
         private final SpectreConfigSpec.DoubleValue nightStart;
+        private final SpectreConfigSpec.BooleanValue wallClockTime;
+        private final SpectreConfigSpec.DoubleValue wallClockMaxCatchUp;
 
         private final SpectreConfigSpec.EnumValue<EffectCondition> weatherEffect;
         private final SpectreConfigSpec.EnumValue<EffectCondition> randomTickEffect;
-        private final SpectreConfigSpec.IntValue baseRandomTickSpeed;
+        private final SpectreConfigSpec.EnumValue<RandomTickMode> randomTickMode;
+        private final SpectreConfigSpec.BooleanValue randomTickPrecipitation;
+        private final SpectreConfigSpec.DoubleValue randomTickBudget;
         private final SpectreConfigSpec.EnumValue<EffectCondition> potionEffect;
         private final SpectreConfigSpec.EnumValue<EffectCondition> hungerEffect;
         private final SpectreConfigSpec.EnumValue<EffectCondition> blockEntityEffect;
+        private final SpectreConfigSpec.DoubleValue blockEntityTickBudget;
+        private final SpectreConfigSpec.IntValue blockEntityMaxDebt;
+        private final SpectreConfigSpec.EnumValue<BlockEntityScope> blockEntityScope;
+        private final SpectreConfigSpec.IntValue blockEntityRadius;
+        private final SpectreConfigSpec.ConfigValue<List<? extends String>> blockEntityAllowList;
+        private final SpectreConfigSpec.ConfigValue<List<? extends String>> blockEntityDenyList;
+        private static final Predicate<Object> resourceLocationValidator = s -> s instanceof String
+            && ((String) s).matches("[a-z0-9_.-]+:[a-z0-9_./-]+");
+
+        private final SpectreConfigSpec.BooleanValue adaptiveTimeSync;
+        private final SpectreConfigSpec.IntValue timeSyncInterval;
+        private final SpectreConfigSpec.DoubleValue timeSyncMaxDrift;
 
         private final SpectreConfigSpec.BooleanValue enableSleepFeature;
         private final SpectreConfigSpec.DoubleValue sleepSpeedMin;
         private final SpectreConfigSpec.DoubleValue sleepSpeedMax;
         private final SpectreConfigSpec.DoubleValue sleepSpeedAll;
         private final SpectreConfigSpec.DoubleValue sleepSpeedCurve;
+        private final SpectreConfigSpec.DoubleValue targetMspt;
+        private final SpectreConfigSpec.DoubleValue msptSmoothing;
         private final SpectreConfigSpec.BooleanValue clearWeatherOnWake;
         private final SpectreConfigSpec.BooleanValue displayBedClock;
         private final SpectreConfigSpec.BooleanValue allowDaySleep;
 
+        private final SpectreConfigSpec.IntValue notificationWindow;
+        private final SpectreConfigSpec.IntValue maxNotificationsPerSecond;
+
         private final SpectreConfigSpec.ConfigValue<String> morningMessage;
         private final SpectreConfigSpec.EnumValue<ChatTypeOptions> morningMessageType;
         private final SpectreConfigSpec.EnumValue<TemplateMessage.MessageTarget> morningMessageTarget;
@@ -197,6 +226,18 @@ public class ConfigHandler {
                             "Default: 12500")
                     .defineInRange("nightStart", 12500D, 12000D, 13000D);
 
+            wallClockTime = builder.comment(
+                            "When true, time passes according to elapsed real time instead of elapsed server ticks, so that a day takes",
+                            "as long in real time as it would on a server running at 20 ticks per second, even when the server lags.",
+                            "When false, time passes by a fixed amount every server tick, as in vanilla.")
+                    .define("wallClockTime", false);
+
+            wallClockMaxCatchUp = builder.comment(
+                            "The most ticks of real time to pass in a single server tick when wallClockTime is true.",
+                            "Time owed beyond this, for example after a lag spike, is caught up over the following ticks.",
+                            "Time effects scale with the time passed, so larger values make catching up more expensive.")
+                    .defineInRange("wallClockMaxCatchUp", 4D, 1D, 100D);
+
             builder.push("effects"); // time.effects
 
             weatherEffect = builder.comment(
@@ -207,17 +248,30 @@ public class ConfigHandler {
                     .defineEnum("weatherEffect", EffectCondition.SLEEPING);
 
             randomTickEffect = builder.comment(
-                            "When applied, this effect syncs the random tick speed with the current speed of time, forcing",
-                            "crop, tree, and grass growth to occur at baseRandomTickSpeed multiplied by the current time-speed.",
-                            "When set to SLEEPING, randomTickSpeed is set to baseRandomTickSpeed unless at least one player is sleeping in a dimension.",
+                            "When applied, this effect adds extra random ticks to every chunk in proportion to the current speed of time,",
+                            "making crop, tree, and grass growth occur at the randomTickSpeed game rule multiplied by the current time-speed.",
+                            "When set to SLEEPING, this effect only applies when at least one player is sleeping in a dimension.",
                             "More information on the effects of random tick speed can be found here: https://minecraft.fandom.com/wiki/Tick#Random_tick",
-                            "WARNING: This setting overwrites the randomTickSpeed game rule. To modify the base random tick speed,",
-                            "use the baseRandomTickSpeed setting instead of changing the game rule directly.")
+                            "This effect does not modify the randomTickSpeed game rule.")
                     .defineEnum("randomTickEffect", EffectCondition.NEVER);
 
-            baseRandomTickSpeed = builder
-                    .comment("The base random tick speed used by the randomTickEffect time effect.")
-                    .defineInRange("baseRandomTickSpeed", 3, 0, Integer.MAX_VALUE);
+            randomTickMode = builder.comment(
+                            "Sets how the randomTickEffect performs extra random ticks.",
+                            "\tEXACT: Each extra random tick picks a random position in a chunk section, as vanilla does.",
+                            "\tSTATISTICAL: The number of extra random ticks received by each randomly ticking block is sampled directly.",
+                            "\t             The cost scales with the number of crops and other randomly ticking blocks rather than the time-speed.")
+                    .defineEnum("randomTickMode", RandomTickMode.EXACT);
+
+            randomTickPrecipitation = builder.comment(
+                            "When true, the randomTickEffect also speeds up snow piling up and water freezing in cold biomes,",
+                            "as they would with the randomTickSpeed game rule multiplied by the current time-speed.")
+                    .define("randomTickPrecipitation", true);
+
+            randomTickBudget = builder.comment(
+                            "The most time, in milliseconds, that the randomTickEffect may spend on extra random ticks each tick.",
+                            "Chunks that do not fit in the budget do not receive extra random ticks that tick.",
+                            "Set to 0 for no limit.")
+                    .defineInRange("randomTickBudget", 5D, 0D, 1000D);
 
             potionEffect = builder.comment(
                             "When applied, this effect progresses potion effects to match the rate of the current time-speed.",
@@ -242,7 +296,61 @@ public class ConfigHandler {
                             "When set to SLEEPING, this effect only applies when at least one player is sleeping in a dimension.")
                     .defineEnum("blockEntityEffect", EffectCondition.NEVER);
 
+            blockEntityTickBudget = builder.comment(
+                            "The most time, in milliseconds, that the blockEntityEffect may spend accelerating block entities each tick.",
+                            "Extra ticks that do not fit in the budget are carried over to later ticks (see blockEntityMaxDebt).",
+                            "Set to 0 to accelerate block entities fully every tick regardless of the time it takes.")
+                    .defineInRange("blockEntityTickBudget", 10D, 0D, 1000D);
+
+            blockEntityMaxDebt = builder.comment(
+                            "The largest number of extra block entity ticks that may be carried over to later ticks when",
+                            "blockEntityTickBudget runs out. Ticks beyond this are dropped.")
+                    .defineInRange("blockEntityMaxDebt", 1200, 0, Integer.MAX_VALUE);
+
+            blockEntityScope = builder.comment(
+                            "Sets which block entities the blockEntityEffect accelerates.",
+                            "\tLEVEL: All ticking block entities in the dimension.",
+                            "\tSLEEPING_PLAYERS: Block entities within blockEntityRadius chunks of a sleeping player.",
+                            "\tACTIVE_PLAYERS: Block entities within blockEntityRadius chunks of any player who is not spectating.")
+                    .defineEnum("blockEntityScope", BlockEntityScope.LEVEL);
+
+            blockEntityRadius = builder.comment(
+                            "The radius, in chunks, around players in which block entities are accelerated.",
+                            "Unused if blockEntityScope is LEVEL.")
+                    .defineInRange("blockEntityRadius", 4, 0, 32);
+
+            blockEntityAllowList = builder.comment(
+                            "Block entity types (e.g. \"minecraft:furnace\") that the blockEntityEffect may accelerate.",
+                            "Leave empty to allow all types. Unused if blockEntityScope is LEVEL.")
+                    .defineListAllowEmpty(List.of("blockEntityAllowList"), List::of, resourceLocationValidator);
+
+            blockEntityDenyList = builder.comment(
+                            "Block entity types (e.g. \"minecraft:hopper\") that the blockEntityEffect never accelerates.",
+                            "Unused if blockEntityScope is LEVEL.")
+                    .defineListAllowEmpty(List.of("blockEntityDenyList"), List::of, resourceLocationValidator);
+
             builder.pop(); // time.effects
+
+            builder.push("sync"); // time.sync
+
+            adaptiveTimeSync = builder.comment(
+                            "When true, the time is only sent to players when they can no longer predict it on their own:",
+                            "when the time-speed or sleep state changes, when their time drifts more than timeSyncMaxDrift",
+                            "from the server time, or after timeSyncInterval ticks have passed.",
+                            "When false, the time is sent to all players every tick.")
+                    .define("adaptiveTimeSync", false);
+
+            timeSyncInterval = builder.comment(
+                            "The largest number of ticks to go without sending the time to players.",
+                            "Unused if adaptiveTimeSync is false.")
+                    .defineInRange("timeSyncInterval", 20, 1, Integer.MAX_VALUE);
+
+            timeSyncMaxDrift = builder.comment(
+                            "The largest difference, in ticks, allowed between the time predicted by players and the server time",
+                            "before the time is sent again. Unused if adaptiveTimeSync is false.")
+                    .defineInRange("timeSyncMaxDrift", 1D, 0D, Time.DAY_LENGTH.doubleValue());
+
+            builder.pop(); // time.sync
             builder.pop(); // time
 
             builder.push("sleep"); // sleep
@@ -277,6 +385,18 @@ public class ConfigHandler {
                             "Credit to SmoothSleep for the idea: https://www.spigotmc.org/resources/smoothsleep.32043/")
                     .defineInRange("sleepSpeedCurve", 0.3D, 0D, 1D);
 
+            targetMspt = builder.comment(
+                            "The server tick duration, in milliseconds, to stay within while players are sleeping.",
+                            "When the server takes longer than this to tick, the sleep time-speed is scaled down until it catches up,",
+                            "so that the night does not take longer in real time because the server has fallen behind.",
+                            "The sleep time-speed is never scaled below vanilla speed. Set to 0 to disable.")
+                    .defineInRange("targetMspt", 45D, 0D, 1000D);
+
+            msptSmoothing = builder.comment(
+                            "The weight of the most recent tick in the moving average of the server tick duration used by targetMspt.",
+                            "Smaller values react more slowly to lag spikes. Unused if targetMspt is 0.")
+                    .defineInRange("msptSmoothing", 0.2D, 0.01D, 1D);
+
             clearWeatherOnWake = builder.comment(
                             "Set to 'true' for the weather to clear when players wake up in the morning as it does in vanilla.",
                             "Set to 'false' to force weather to pass naturally. Adds realism when accelerateWeather is enabled.",
@@ -306,13 +426,26 @@ public class ConfigHandler {
                             "\tSLEEPING: Sends the message to all players in the current dimension who are sleeping.")
                     .push("messages");
 
+            notificationWindow = builder.comment(
+                            "The number of ticks to collect enterBed and leaveBed events in a dimension before sending one message",
+                            "naming every player who entered their bed and one naming every player who left it, with the final player counts.",
+                            "Set to 0 to send a message for every event.")
+                    .defineInRange("notificationWindow", 10, 0, 200);
+
+            maxNotificationsPerSecond = builder.comment(
+                            "The most enterBed and leaveBed messages that each dimension sends per second.",
+                            "Further events are held back and included in the next message.",
+                            "Set to 0 for no limit.")
+                    .defineInRange("maxNotificationsPerSecond", 4, 0, 100);
+
             // sleep.messages.morning
             builder.comment("This message is sent after a sleep cycle has completed.").push("morning");
             morningMessage = builder.comment(
                             "Available variables:",
                             "sleepingPlayers -> the number of players in the current dimension who were sleeping.",
                             "totalPlayers -> the number of players in the current dimension (spectators are not counted).",
-                            "sleepingPercentage -> the percentage of players in the current dimension who were sleeping (does not include % symbol).")
+                            "sleepingPercentage -> the percentage of players in the current dimension who were sleeping (does not include % symbol).",
+                            "throttlePercentage -> the percentage of the sleep time-speed that the server could keep up with (see targetMspt).")
                     .define("message", "\u00A7e\u00A7oTempus fugit!");
             morningMessageType = builder.comment("Sets where this message appears.")
                     .defineEnum("type", ChatTypeOptions.GAME_INFO);
@@ -329,7 +462,8 @@ public class ConfigHandler {
                             "player -> the player who started sleeping.",
                             "sleepingPlayers -> the number of players in the current dimension who are sleeping.",
                             "totalPlayers -> the number of players in the current dimension (spectators are not counted).",
-                            "sleepingPercentage -> the percentage of players in the current dimension who are sleeping (does not include % symbol).")
+                            "sleepingPercentage -> the percentage of players in the current dimension who are sleeping (does not include % symbol).",
+                            "throttlePercentage -> the percentage of the sleep time-speed that the server can keep up with (see targetMspt).")
                     .define("message", "${player} is now sleeping. [${sleepingPlayers}/${totalPlayers}]");
             enterBedMessageType = builder.comment("Sets where this message appears.")
                     .defineEnum("type", ChatTypeOptions.GAME_INFO);
@@ -344,7 +478,8 @@ public class ConfigHandler {
                             "player -> the player who left their bed.",
                             "sleepingPlayers -> the number of players in the current dimension who are sleeping.",
                             "totalPlayers -> the number of players in the current dimension (spectators are not counted).",
-                            "sleepingPercentage -> the percentage of players in the current dimension who are sleeping (does not include % symbol).")
+                            "sleepingPercentage -> the percentage of players in the current dimension who are sleeping (does not include % symbol).",
+                            "throttlePercentage -> the percentage of the sleep time-speed that the server can keep up with (see targetMspt).")
                     .define("message", "${player} has left their bed. [${sleepingPlayers}/${totalPlayers}]");
             leaveBedMessageType = builder.comment("Sets where this message appears.")
                     .defineEnum("type", ChatTypeOptions.GAME_INFO);
@@ -356,112 +491,377 @@ public class ConfigHandler {
             builder.pop(); // sleep
         }
 
+        /**
+         * {@return the current snapshot of the common config} The snapshot is taken on first use if a
+         * config load has not taken one yet.
+         */
+        public static CommonSnapshot snapshot() {
+            CommonSnapshot snapshot = currentSnapshot;
+
+            if (snapshot == null) {
+                snapshot = refreshSnapshot();
+            }
+
+            return snapshot;
+        }
+
+        /**
+         * Takes a new snapshot of the common config values, along with everything compiled from them,
+         * and makes it the current snapshot. Should be called whenever the common config is loaded or
+         * reloaded.
+         *
+         * @return the new snapshot
+         */
+        public static CommonSnapshot refreshSnapshot() {
+            CommonSnapshot snapshot = new CommonSnapshot(COMMON, registriesFrozen);
+            currentSnapshot = snapshot;
+
+            return snapshot;
+        }
+
+        /**
+         * Takes a new snapshot now that all block entity types are registered, so that the block
+         * entity lists are resolved against them. Should be called when a server is starting.
+         */
+        public static void onServerStarting() {
+            registriesFrozen = true;
+            refreshSnapshot();
+        }
+
+        public static TimeSpeedSchedule timeSpeedSchedule() {
+            return snapshot().timeSpeedSchedule;
+        }
+
+        public static BlockEntityTypeFilter blockEntityTypeFilter() {
+            return snapshot().blockEntityTypeFilter;
+        }
+
+        public static TemplateMessage morningTemplate() {
+            return snapshot().morningTemplate;
+        }
+
+        public static TemplateMessage enterBedTemplate() {
+            return snapshot().enterBedTemplate;
+        }
+
+        public static TemplateMessage leaveBedTemplate() {
+            return snapshot().leaveBedTemplate;
+        }
+
+        public static long randomTickBudgetNanos() {
+            return snapshot().randomTickBudgetNanos;
+        }
+
+        public static long blockEntityTickBudgetNanos() {
+            return snapshot().blockEntityTickBudgetNanos;
+        }
+
         public static double daySpeed() {
-            return COMMON.daySpeed.get();
+            return snapshot().daySpeed;
         }
 
         public static double nightSpeed() {
-            return COMMON.nightSpeed.get();
+            return snapshot().nightSpeed;
         }
 
         public static double dayStart() {
-            return COMMON.dayStart.get();
+            return snapshot().dayStart;
         }
 
         public static double nightStart() {
-            return COMMON.nightStart.get();
+            return snapshot().nightStart;
+        }
+
+        public static boolean wallClockTime() {
+            return snapshot().wallClockTime;
+        }
+
+        public static double wallClockMaxCatchUp() {
+            return snapshot().wallClockMaxCatchUp;
         }
 
         public static EffectCondition weatherEffect() {
-            return COMMON.weatherEffect.get();
+            return snapshot().weatherEffect;
         }
 
         public static EffectCondition randomTickEffect() {
-            return COMMON.randomTickEffect.get();
+            return snapshot().randomTickEffect;
         }
 
-        public static int baseRandomTickSpeed() {
-            return COMMON.baseRandomTickSpeed.get();
+        public static RandomTickMode randomTickMode() {
+            return snapshot().randomTickMode;
+        }
+
+        public static boolean randomTickPrecipitation() {
+            return snapshot().randomTickPrecipitation;
+        }
+
+        public static double randomTickBudget() {
+            return snapshot().randomTickBudget;
         }
 
         public static EffectCondition potionEffect() {
-            return COMMON.potionEffect.get();
+            return snapshot().potionEffect;
         }
 
         public static EffectCondition hungerEffect() {
-            return COMMON.hungerEffect.get();
+            return snapshot().hungerEffect;
         }
 
         public static EffectCondition blockEntityEffect() {
-            return COMMON.blockEntityEffect.get();
+            return snapshot().blockEntityEffect;
+        }
+
+        public static double blockEntityTickBudget() {
+            return snapshot().blockEntityTickBudget;
+        }
+
+        public static int blockEntityMaxDebt() {
+            return snapshot().blockEntityMaxDebt;
+        }
+
+        public static BlockEntityScope blockEntityScope() {
+            return snapshot().blockEntityScope;
+        }
+
+        public static int blockEntityRadius() {
+            return snapshot().blockEntityRadius;
+        }
+
+        public static List<? extends String> blockEntityAllowList() {
+            return snapshot().blockEntityAllowList;
+        }
+
+        public static List<? extends String> blockEntityDenyList() {
+            return snapshot().blockEntityDenyList;
+        }
+
+        public static boolean adaptiveTimeSync() {
+            return snapshot().adaptiveTimeSync;
+        }
+
+        public static int timeSyncInterval() {
+            return snapshot().timeSyncInterval;
+        }
+
+        public static double timeSyncMaxDrift() {
+            return snapshot().timeSyncMaxDrift;
         }
 
         public static boolean enableSleepFeature() {
-            return !Services.PLATFORM.isModLoaded("sleepwarp") ? COMMON.enableSleepFeature.get() : false;
+            return snapshot().enableSleepFeature;
         }
 
         public static double sleepSpeedMin() {
-            return COMMON.sleepSpeedMin.get();
+            return snapshot().sleepSpeedMin;
         }
 
         public static double sleepSpeedMax() {
-            return COMMON.sleepSpeedMax.get();
+            return snapshot().sleepSpeedMax;
         }
 
         public static double sleepSpeedAll() {
-            return COMMON.sleepSpeedAll.get();
+            return snapshot().sleepSpeedAll;
         }
 
         public static double sleepSpeedCurve() {
-            return COMMON.sleepSpeedCurve.get();
+            return snapshot().sleepSpeedCurve;
+        }
+
+        public static double targetMspt() {
+            return snapshot().targetMspt;
+        }
+
+        public static double msptSmoothing() {
+            return snapshot().msptSmoothing;
         }
 
         public static boolean clearWeatherOnWake() {
-            return COMMON.clearWeatherOnWake.get();
+            return snapshot().clearWeatherOnWake;
         }
 
         public static boolean displayBedClock() {
-            return COMMON.displayBedClock.get();
+            return snapshot().displayBedClock;
         }
 
         public static boolean allowDaySleep() {
-            return COMMON.allowDaySleep.get();
+            return snapshot().allowDaySleep;
+        }
+
+        public static int notificationWindow() {
+            return snapshot().notificationWindow;
+        }
+
+        public static int maxNotificationsPerSecond() {
+            return snapshot().maxNotificationsPerSecond;
         }
 
         public static String morningMessage() {
-            return COMMON.morningMessage.get();
+            return snapshot().morningMessage;
         }
 
         public static ChatTypeOptions morningMessageType() {
-            return COMMON.morningMessageType.get();
+            return snapshot().morningMessageType;
         }
 
         public static TemplateMessage.MessageTarget morningMessageTarget() {
-            return COMMON.morningMessageTarget.get();
+            return snapshot().morningMessageTarget;
         }
 
         public static String enterBedMessage() {
-            return COMMON.enterBedMessage.get();
+            return snapshot().enterBedMessage;
         }
 
         public static ChatTypeOptions enterBedMessageType() {
-            return COMMON.enterBedMessageType.get();
+            return snapshot().enterBedMessageType;
         }
 
         public static TemplateMessage.MessageTarget enterBedMessageTarget() {
-            return COMMON.enterBedMessageTarget.get();
+            return snapshot().enterBedMessageTarget;
         }
 
         public static String leaveBedMessage() {
-            return COMMON.leaveBedMessage.get();
+            return snapshot().leaveBedMessage;
         }
 
         public static ChatTypeOptions leaveBedMessageType() {
-            return COMMON.leaveBedMessageType.get();
+            return snapshot().leaveBedMessageType;
         }
 
         public static TemplateMessage.MessageTarget leaveBedMessageTarget() {
-            return COMMON.leaveBedMessageTarget.get();
+            return snapshot().leaveBedMessageTarget;
+        }
+
+    }
+
+
+    /**
+     * An immutable copy of the common config values, taken whenever the common config is loaded or
+     * reloaded so that reading a value does not go through the config spec. The time-speed schedule,
+     * message templates and block entity filter are compiled along with it, so that a reload
+     * publishes all of them at once.
+     */
+    public static final class CommonSnapshot {
+        public final double daySpeed;
+        public final double nightSpeed;
+        public final double dayStart;
+        public final double nightStart;
+        public final boolean wallClockTime;
+        public final double wallClockMaxCatchUp;
+        public final EffectCondition weatherEffect;
+        public final EffectCondition randomTickEffect;
+        public final RandomTickMode randomTickMode;
+        public final boolean randomTickPrecipitation;
+        public final double randomTickBudget;
+        public final EffectCondition potionEffect;
+        public final EffectCondition hungerEffect;
+        public final EffectCondition blockEntityEffect;
+        public final double blockEntityTickBudget;
+        public final int blockEntityMaxDebt;
+        public final BlockEntityScope blockEntityScope;
+        public final int blockEntityRadius;
+        public final List<? extends String> blockEntityAllowList;
+        public final List<? extends String> blockEntityDenyList;
+        public final boolean adaptiveTimeSync;
+        public final int timeSyncInterval;
+        public final double timeSyncMaxDrift;
+        public final boolean enableSleepFeature;
+        public final double sleepSpeedMin;
+        public final double sleepSpeedMax;
+        public final double sleepSpeedAll;
+        public final double sleepSpeedCurve;
+        public final double targetMspt;
+        public final double msptSmoothing;
+        public final boolean clearWeatherOnWake;
+        public final boolean displayBedClock;
+        public final boolean allowDaySleep;
+        public final int notificationWindow;
+        public final int maxNotificationsPerSecond;
+        public final String morningMessage;
+        public final ChatTypeOptions morningMessageType;
+        public final TemplateMessage.MessageTarget morningMessageTarget;
+        public final String enterBedMessage;
+        public final ChatTypeOptions enterBedMessageType;
+        public final TemplateMessage.MessageTarget enterBedMessageTarget;
+        public final String leaveBedMessage;
+        public final ChatTypeOptions leaveBedMessageType;
+        public final TemplateMessage.MessageTarget leaveBedMessageTarget;
+
+        /** {@link #randomTickBudget} in nanoseconds. */
+        public final long randomTickBudgetNanos;
+        /** {@link #blockEntityTickBudget} in nanoseconds. */
+        public final long blockEntityTickBudgetNanos;
+        /** The time-speed settings compiled into a schedule. */
+        public final TimeSpeedSchedule timeSpeedSchedule;
+        /**
+         * {@link #blockEntityAllowList} and {@link #blockEntityDenyList} resolved against the block
+         * entity type registry, or {@link BlockEntityTypeFilter#NONE} before it is complete.
+         */
+        public final BlockEntityTypeFilter blockEntityTypeFilter;
+        public final TemplateMessage morningTemplate;
+        public final TemplateMessage enterBedTemplate;
+        public final TemplateMessage leaveBedTemplate;
+
+        private CommonSnapshot(Common common, boolean registriesFrozen) {
+            this.daySpeed = common.daySpeed.get();
+            this.nightSpeed = common.nightSpeed.get();
+            this.dayStart = common.dayStart.get();
+            this.nightStart = common.nightStart.get();
+            this.wallClockTime = common.wallClockTime.get();
+            this.wallClockMaxCatchUp = common.wallClockMaxCatchUp.get();
+            this.weatherEffect = common.weatherEffect.get();
+            this.randomTickEffect = common.randomTickEffect.get();
+            this.randomTickMode = common.randomTickMode.get();
+            this.randomTickPrecipitation = common.randomTickPrecipitation.get();
+            this.randomTickBudget = common.randomTickBudget.get();
+            this.potionEffect = common.potionEffect.get();
+            this.hungerEffect = common.hungerEffect.get();
+            this.blockEntityEffect = common.blockEntityEffect.get();
+            this.blockEntityTickBudget = common.blockEntityTickBudget.get();
+            this.blockEntityMaxDebt = common.blockEntityMaxDebt.get();
+            this.blockEntityScope = common.blockEntityScope.get();
+            this.blockEntityRadius = common.blockEntityRadius.get();
+            this.blockEntityAllowList = List.copyOf(common.blockEntityAllowList.get());
+            this.blockEntityDenyList = List.copyOf(common.blockEntityDenyList.get());
+            this.adaptiveTimeSync = common.adaptiveTimeSync.get();
+            this.timeSyncInterval = common.timeSyncInterval.get();
+            this.timeSyncMaxDrift = common.timeSyncMaxDrift.get();
+            this.enableSleepFeature = !Services.PLATFORM.isModLoaded("sleepwarp")
+                    ? common.enableSleepFeature.get()
+                    : false;
+            this.sleepSpeedMin = common.sleepSpeedMin.get();
+            this.sleepSpeedMax = common.sleepSpeedMax.get();
+            this.sleepSpeedAll = common.sleepSpeedAll.get();
+            this.sleepSpeedCurve = common.sleepSpeedCurve.get();
+            this.targetMspt = common.targetMspt.get();
+            this.msptSmoothing = common.msptSmoothing.get();
+            this.clearWeatherOnWake = common.clearWeatherOnWake.get();
+            this.displayBedClock = common.displayBedClock.get();
+            this.allowDaySleep = common.allowDaySleep.get();
+            this.notificationWindow = common.notificationWindow.get();
+            this.maxNotificationsPerSecond = common.maxNotificationsPerSecond.get();
+            this.morningMessage = common.morningMessage.get();
+            this.morningMessageType = common.morningMessageType.get();
+            this.morningMessageTarget = common.morningMessageTarget.get();
+            this.enterBedMessage = common.enterBedMessage.get();
+            this.enterBedMessageType = common.enterBedMessageType.get();
+            this.enterBedMessageTarget = common.enterBedMessageTarget.get();
+            this.leaveBedMessage = common.leaveBedMessage.get();
+            this.leaveBedMessageType = common.leaveBedMessageType.get();
+            this.leaveBedMessageTarget = common.leaveBedMessageTarget.get();
+            this.randomTickBudgetNanos = (long) (randomTickBudget * 1_000_000D);
+            this.blockEntityTickBudgetNanos = (long) (blockEntityTickBudget * 1_000_000D);
+            this.timeSpeedSchedule = new TimeSpeedSchedule(enableSleepFeature, dayStart, nightStart, daySpeed,
+                    nightSpeed, sleepSpeedMin, sleepSpeedMax, sleepSpeedAll, sleepSpeedCurve);
+            this.blockEntityTypeFilter = registriesFrozen
+                    ? BlockEntityTypeFilter.resolve(blockEntityAllowList, blockEntityDenyList)
+                    : BlockEntityTypeFilter.NONE;
+            this.morningTemplate = TemplateMessage.compile(morningMessage)
+                    .setOverlay(morningMessageType.isOverlay());
+            this.enterBedTemplate = TemplateMessage.compile(enterBedMessage)
+                    .setOverlay(enterBedMessageType.isOverlay());
+            this.leaveBedTemplate = TemplateMessage.compile(leaveBedMessage)
+                    .setOverlay(leaveBedMessageType.isOverlay());
         }
 
     }
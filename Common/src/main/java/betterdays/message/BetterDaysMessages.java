@@ -39,13 +39,12 @@ public class BetterDaysMessages {
      * @param player sleeping player
      */
     public static void onSleepingCheckEvent(Player player) {
-        TimeService service = TimeServiceManager.service;
+        TimeService service = TimeServiceManager.get(player.level());
 
         if (ConfigHandler.Common.enableSleepFeature()
                 && player.getSleepTimer() == 2
                 && player.getClass() == ServerPlayerWrapper.playerClass
                 && service != null
-                && service.level.get().equals(player.level())
                 && service.level.get().players().size() > 1
                 && service.level.daylightRuleEnabled()) {
 
@@ -58,12 +57,11 @@ public class BetterDaysMessages {
      * @param player sleeping player
      */
     public static void onPlayerWakeUpEvent(Player player) {
-        TimeService service = TimeServiceManager.service;
+        TimeService service = TimeServiceManager.get(player.level());
 
         if (ConfigHandler.Common.enableSleepFeature()
                 && player.getClass() == ServerPlayerWrapper.playerClass
                 && service != null
-                && service.level.get().equals(player.level())
                 && service.level.get().players().size() > 1
                 && service.level.daylightRuleEnabled()) {
 
@@ -76,11 +74,10 @@ public class BetterDaysMessages {
      * @param level current level
      */
     public static void onSleepFinishedEvent(LevelAccessor level) {
-        TimeService service = TimeServiceManager.service;
+        TimeService service = TimeServiceManager.get(level);
 
         if (ConfigHandler.Common.enableSleepFeature()
                 && service != null
-                && service.level.get().equals(level)
                 && service.level.daylightRuleEnabled()) {
 
             ServerLevelWrapper levelWrapper = new ServerLevelWrapper(level);
@@ -89,51 +86,59 @@ public class BetterDaysMessages {
     }
 
     /**
-     * Sends a message to all targeted players informing them that a player has entered their bed.
+     * Queues a message to all targeted players informing them that a player has entered their bed.
+     * Messages are coalesced and rate limited by the {@link SleepNotificationAggregator} of the level.
      *
      * @param player  the player who started sleeping
      */
     public static void sendEnterBedMessage(ServerPlayerWrapper player) {
-        String templateMessage = ConfigHandler.Common.enterBedMessage();
-        TimeService timeService = TimeServiceManager.service;
+        TimeService timeService = TimeServiceManager.get(player.get().level());
 
-        if (templateMessage.isEmpty() || timeService == null) {
-            return;
+        if (timeService != null) {
+            SleepNotificationAggregator.get(timeService).onBedEvent(player.get().getGameProfile().getName(), true);
         }
-
-        SleepStatus sleepStatus = timeService.sleepStatus;
-
-        new TemplateMessage().setTemplate(templateMessage)
-                .setOverlay(ConfigHandler.Common.enterBedMessageType().isOverlay())
-                .setVariable("player", player.get().getGameProfile().getName())
-                .setVariable("totalPlayers", Integer.toString(sleepStatus.amountActive()))
-                .setVariable("sleepingPlayers", Integer.toString(sleepStatus.amountSleeping()))
-                .setVariable("sleepingPercentage", Integer.toString(sleepStatus.percentage()))
-                .bake().send(ConfigHandler.Common.enterBedMessageTarget(), player.getLevel());
     }
 
     /**
-     * Sends a message to all targeted players informing them that a player has left their bed.
+     * Queues a message to all targeted players informing them that a player has left their bed.
+     * Messages are coalesced and rate limited by the {@link SleepNotificationAggregator} of the level.
      *
      * @param player  the player who left their bed
      */
     public static void sendLeaveBedMessage(ServerPlayerWrapper player) {
-        String templateMessage = ConfigHandler.Common.leaveBedMessage();
-        TimeService timeService = TimeServiceManager.service;
+        TimeService timeService = TimeServiceManager.get(player.get().level());
+
+        if (timeService != null) {
+            SleepNotificationAggregator.get(timeService).onBedEvent(player.get().getGameProfile().getName(), false);
+        }
+    }
 
-        if (templateMessage.isEmpty() || timeService == null) {
+    /**
+     * Sends a message to all targeted players in the level of {@code timeService} informing them that
+     * players have entered or left their bed.
+     *
+     * @param timeService  the {@code TimeService} of the level
+     * @param player  the names of the players
+     * @param entered  true if the player entered their bed, false if they left it
+     * @param sleepingPlayers  the number of sleeping players to show in the message
+     */
+    static void sendBedMessage(TimeService timeService, String player, boolean entered, int sleepingPlayers) {
+        TemplateMessage message = entered
+                ? ConfigHandler.Common.enterBedTemplate()
+                : ConfigHandler.Common.leaveBedTemplate();
+
+        if (message.isEmpty()) {
             return;
         }
 
         SleepStatus sleepStatus = timeService.sleepStatus;
+        MessageContext context = new MessageContext(player, sleepStatus.amountActive(), sleepingPlayers,
+                sleepStatus.percentage(), throttlePercentage(timeService));
+        TemplateMessage.MessageTarget target = entered
+                ? ConfigHandler.Common.enterBedMessageTarget()
+                : ConfigHandler.Common.leaveBedMessageTarget();
 
-        new TemplateMessage().setTemplate(templateMessage)
-                .setOverlay(ConfigHandler.Common.leaveBedMessageType().isOverlay())
-                .setVariable("player", player.get().getGameProfile().getName())
-                .setVariable("totalPlayers", Integer.toString(sleepStatus.amountActive()))
-                .setVariable("sleepingPlayers", Integer.toString(sleepStatus.amountSleeping() - 1))
-                .setVariable("sleepingPercentage", Integer.toString(sleepStatus.percentage()))
-                .bake().send(ConfigHandler.Common.leaveBedMessageTarget(), player.getLevel());
+        message.bake(context).send(target, timeService.level);
     }
 
     /**
@@ -143,21 +148,22 @@ public class BetterDaysMessages {
      * @param level  the level that night has passed in
      */
     public static void sendMorningMessage(ServerLevelWrapper level) {
-        String templateMessage = ConfigHandler.Common.morningMessage();
-        TimeService timeService = TimeServiceManager.service;
+        TemplateMessage message = ConfigHandler.Common.morningTemplate();
+        TimeService timeService = TimeServiceManager.get(level.get());
 
-        if (templateMessage.isEmpty() || timeService == null) {
+        if (message.isEmpty() || timeService == null) {
             return;
         }
 
         SleepStatus sleepStatus = timeService.sleepStatus;
+        MessageContext context = new MessageContext(null, sleepStatus.amountActive(),
+                sleepStatus.amountSleeping(), sleepStatus.percentage(), throttlePercentage(timeService));
+
+        message.bake(context).send(ConfigHandler.Common.morningMessageTarget(), level);
+    }
 
-        new TemplateMessage().setTemplate(templateMessage)
-                .setOverlay(ConfigHandler.Common.morningMessageType().isOverlay())
-                .setVariable("totalPlayers", Integer.toString(sleepStatus.amountActive()))
-                .setVariable("sleepingPlayers", Integer.toString(sleepStatus.amountSleeping()))
-                .setVariable("sleepingPercentage", Integer.toString(sleepStatus.percentage()))
-                .bake().send(ConfigHandler.Common.morningMessageTarget(), level);
+    private static int throttlePercentage(TimeService timeService) {
+        return (int) Math.round(timeService.governor.throttle() * 100D);
     }
 
 }
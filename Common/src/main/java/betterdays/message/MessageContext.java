@@ -0,0 +1,41 @@
+package betterdays.message;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The values of the variables available to a {@link TemplateMessage}.
+ *
+ * @param player  the name of the player that the message is about, or null if there is none
+ * @param totalPlayers  the number of active players in the dimension
+ * @param sleepingPlayers  the number of sleeping players in the dimension
+ * @param sleepingPercentage  the percentage of active players in the dimension who are sleeping
+ * @param throttlePercentage  the percentage of the sleep time-speed that the server can keep up with
+ */
+public record MessageContext(@Nullable String player, int totalPlayers, int sleepingPlayers,
+        int sleepingPercentage, int throttlePercentage) {
+
+    /**
+     * Appends the value of {@code variable} to {@code builder}.
+     *
+     * @param builder  the builder to append to
+     * @param variable  the variable to append the value of
+     * @return true if the variable has a value in this context, false otherwise
+     */
+    public boolean append(StringBuilder builder, TemplateMessage.Variable variable) {
+        switch (variable) {
+            case PLAYER -> {
+                if (player == null) {
+                    return false;
+                }
+                builder.append(player);
+            }
+            case TOTAL_PLAYERS -> builder.append(totalPlayers);
+            case SLEEPING_PLAYERS -> builder.append(sleepingPlayers);
+            case SLEEPING_PERCENTAGE -> builder.append(sleepingPercentage);
+            case THROTTLE_PERCENTAGE -> builder.append(throttlePercentage);
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,259 @@
+package betterdays.message;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import betterdays.config.ConfigHandler;
+import betterdays.time.TimeService;
+
+/**
+ * Coalesces the enter bed and leave bed messages of a level and limits how many of these messages
+ * the level sends.
+ *
+ * <p>Rather than sending a message for every player who enters or leaves their bed, events are
+ * collected for {@code notificationWindow} ticks after the first one. Then one message is sent
+ * naming every player who entered their bed, and one naming every player who left it, with the
+ * sleeping player counts at that time. A player who both entered and left their bed within the
+ * window is only named for their latest event.
+ *
+ * <p>Each player receives at most {@code maxNotificationsPerSecond} of these messages per second,
+ * from whichever levels they come. Messages targeting one level are counted against that level, and
+ * messages targeting all players against the whole server, so a player in a level is sent the
+ * messages counted against both. Events that arrive while the limit is reached stay pending and are
+ * folded into the next message the limit allows, so no player is left out.
+ */
+public class SleepNotificationAggregator {
+
+    private static final Map<TimeService, SleepNotificationAggregator> aggregators = new WeakHashMap<>();
+
+    // The number of ticks over which maxNotificationsPerSecond is counted
+    private static final int RATE_WINDOW_TICKS = 20;
+
+    // The messages sent to all players of the server, which every level's players receive
+    private static final RateWindow serverRate = new RateWindow();
+
+    private final TimeService timeService;
+
+    // The latest event of each player since the last message, true if they entered their bed
+    private final Map<String, Boolean> pending = new LinkedHashMap<>();
+    // The number of pending players whose latest event was entering their bed
+    private int pendingEntered;
+    private long firstEventTime;
+
+    // The messages sent only to players of this level
+    private final RateWindow levelRate = new RateWindow();
+
+    private long sentMessages;
+    private long deferredMessages;
+    private long coalescedEvents;
+
+    private SleepNotificationAggregator(TimeService timeService) {
+        this.timeService = timeService;
+    }
+
+    /**
+     * {@return the aggregator for the level of {@code timeService}}
+     * @param timeService  the {@code TimeService} to get the aggregator for
+     */
+    public static SleepNotificationAggregator get(TimeService timeService) {
+        return aggregators.computeIfAbsent(timeService, SleepNotificationAggregator::new);
+    }
+
+    /**
+     * Event listener that is called every tick per level. Sends the pending messages of the level
+     * once its window has passed and the rate limit allows.
+     *
+     * @param timeService  the {@code TimeService} of the level
+     */
+    public static void onLevelTick(TimeService timeService) {
+        SleepNotificationAggregator aggregator = aggregators.get(timeService);
+
+        if (aggregator != null) {
+            aggregator.tick();
+        }
+    }
+
+    /**
+     * Records that a player entered or left their bed, sending the message right away if messages are
+     * not being coalesced and the rate limit allows.
+     *
+     * @param player  the name of the player
+     * @param entered  true if the player entered their bed, false if they left it
+     */
+    public void onBedEvent(String player, boolean entered) {
+        long gameTime = timeService.level.get().getGameTime();
+
+        if (pending.isEmpty()) {
+            firstEventTime = gameTime;
+        } else {
+            coalescedEvents++;
+        }
+
+        // Re-inserting moves the player to the end, so names are listed in the order of their latest event
+        if (Boolean.TRUE.equals(pending.remove(player))) {
+            pendingEntered--;
+        }
+
+        pending.put(player, entered);
+
+        if (entered) {
+            pendingEntered++;
+        }
+
+        if (ConfigHandler.Common.notificationWindow() <= 0) {
+            // A player who is leaving their bed right now is still counted as sleeping
+            flush(gameTime, entered ? 0 : 1);
+        }
+    }
+
+    /** {@return the number of enter bed and leave bed messages this level has sent} */
+    public long sentMessages() {
+        return sentMessages;
+    }
+
+    /** {@return the number of times pending messages were held back by the rate limit} */
+    public long deferredMessages() {
+        return deferredMessages;
+    }
+
+    /** {@return the number of enter bed and leave bed events merged into another message} */
+    public long coalescedEvents() {
+        return coalescedEvents;
+    }
+
+    private void tick() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long gameTime = timeService.level.get().getGameTime();
+
+        if (gameTime - firstEventTime >= ConfigHandler.Common.notificationWindow()) {
+            flush(gameTime, 0);
+        }
+    }
+
+    /**
+     * Sends the pending messages, enter bed first, as far as the rate limit allows. Messages that
+     * would exceed it stay pending until a later tick.
+     *
+     * @param gameTime  the current game time of the level
+     * @param stillSleeping  the number of players who left their bed but are still counted as sleeping
+     */
+    private void flush(long gameTime, int stillSleeping) {
+        if (pendingEntered > 0 && !flush(gameTime, true, 0)) {
+            return;
+        }
+
+        if (pending.size() > pendingEntered) {
+            flush(gameTime, false, stillSleeping);
+        }
+    }
+
+    /**
+     * Sends the message naming every pending player whose latest event was {@code entered}, if the
+     * rate limit allows.
+     *
+     * @return true if the message was sent, false if it stays pending
+     */
+    private boolean flush(long gameTime, boolean entered, int stillSleeping) {
+        TemplateMessage.MessageTarget target = entered
+                ? ConfigHandler.Common.enterBedMessageTarget()
+                : ConfigHandler.Common.leaveBedMessageTarget();
+
+        if (!tryCount(gameTime, target)) {
+            deferredMessages++;
+            return false;
+        }
+
+        StringBuilder players = new StringBuilder();
+        Iterator<Map.Entry<String, Boolean>> events = pending.entrySet().iterator();
+
+        while (events.hasNext()) {
+            Map.Entry<String, Boolean> event = events.next();
+
+            if (event.getValue() == entered) {
+                if (!players.isEmpty()) {
+                    players.append(", ");
+                }
+                players.append(event.getKey());
+                events.remove();
+            }
+        }
+
+        if (entered) {
+            pendingEntered = 0;
+        }
+
+        send(players.toString(), entered, stillSleeping);
+        return true;
+    }
+
+    /**
+     * {@return true if a message to {@code target} keeps every recipient within the rate limit}
+     * Counts the message against the limit if it may be sent.
+     */
+    private boolean tryCount(long gameTime, TemplateMessage.MessageTarget target) {
+        int limit = ConfigHandler.Common.maxNotificationsPerSecond();
+
+        if (limit <= 0) {
+            return true;
+        }
+
+        if (target == TemplateMessage.MessageTarget.ALL) {
+            // Players of every level receive it, so it must fit in the busiest level
+            int busiestLevel = 0;
+
+            for (SleepNotificationAggregator aggregator : aggregators.values()) {
+                busiestLevel = Math.max(busiestLevel, aggregator.levelRate.count(gameTime));
+            }
+
+            if (serverRate.count(gameTime) + busiestLevel >= limit) {
+                return false;
+            }
+
+            serverRate.add(gameTime);
+        } else {
+            if (serverRate.count(gameTime) + levelRate.count(gameTime) >= limit) {
+                return false;
+            }
+
+            levelRate.add(gameTime);
+        }
+
+        return true;
+    }
+
+    private void send(String players, boolean entered, int stillSleeping) {
+        int sleepingPlayers = timeService.sleepStatus.amountSleeping() - stillSleeping;
+
+        BetterDaysMessages.sendBedMessage(timeService, players, entered, sleepingPlayers);
+        sentMessages++;
+    }
+
+    /** The number of messages sent to a set of players in the current rate limit window. */
+    private static final class RateWindow {
+
+        private long start = -RATE_WINDOW_TICKS;
+        private int count;
+
+        /** {@return the number of messages sent in the window that includes {@code gameTime}} */
+        int count(long gameTime) {
+            if (gameTime - start >= RATE_WINDOW_TICKS || gameTime < start) {
+                start = gameTime;
+                count = 0;
+            }
+
+            return count;
+        }
+
+        void add(long gameTime) {
+            count(gameTime);
+            count++;
+        }
+
+    }
+
+}
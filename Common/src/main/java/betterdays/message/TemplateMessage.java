@@ -21,13 +21,14 @@
 
 package betterdays.message;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.jetbrains.annotations.Nullable;
 
-import org.apache.logging.log4j.core.lookup.MapLookup;
-import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import net.minecraft.server.level.ServerPlayer;
 
 import betterdays.wrappers.ServerLevelWrapper;
 import betterdays.wrappers.ServerPlayerWrapper;
@@ -36,23 +37,86 @@ import betterdays.wrappers.TextWrapper;
 /**
  * Message builder for Better Days notifications, which allow for customizable targets and variable
  * substitution.
+ *
+ * <p>Templates are parsed once, when the message is compiled, into a list of literal text and
+ * variable segments. Baking a message only appends the segments for a {@link MessageContext}, and the
+ * baked message is reused for as long as the context does not change.
+ *
+ * <p>Variables are written as {@code ${name}}, with an optional default value written as
+ * {@code ${name:-default}}. A variable can be escaped by writing {@code $${name}}. Unknown variables,
+ * and variables without a value in the context, are left in the message as written.
  */
 public class TemplateMessage {
 
-    /** A variable map used for variable string substitution. */
-    public HashMap<String, String> variables;
-    /** The {@code StrSubstitutor} object used to perform variable string substitution. */
-    public StrSubstitutor substitutor;
+    private final String template;
+    private final Segment[] segments;
+    private final StringBuilder builder = new StringBuilder();
 
     private boolean overlay;
     private TextWrapper message;
-    private String template;
+    private @Nullable MessageContext bakedContext;
 
-    /** Instantiates a new message builder. */
-    public TemplateMessage() {
-        variables = new HashMap<>();
-        substitutor = new StrSubstitutor();
-        template = "";
+    private TemplateMessage(String template, Segment[] segments) {
+        this.template = template;
+        this.segments = segments;
+    }
+
+    /**
+     * Parses {@code template} into a new message.
+     *
+     * @param template  the message template
+     * @return the compiled message
+     */
+    public static TemplateMessage compile(String template) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+
+        while (i < template.length()) {
+            if (template.startsWith("$${", i)) {
+                literal.append("${");
+                i += 3;
+                continue;
+            }
+
+            int end = template.startsWith("${", i) ? template.indexOf('}', i + 2) : -1;
+
+            if (end < 0) {
+                literal.append(template.charAt(i++));
+                continue;
+            }
+
+            String raw = template.substring(i, end + 1);
+            String name = template.substring(i + 2, end);
+            String fallback = null;
+            int delimiter = name.indexOf(":-");
+
+            if (delimiter >= 0) {
+                fallback = name.substring(delimiter + 2);
+                name = name.substring(0, delimiter);
+            }
+
+            Variable variable = Variable.byKey(name);
+
+            if (variable != null) {
+                if (!literal.isEmpty()) {
+                    segments.add(new Segment(literal.toString(), null));
+                    literal.setLength(0);
+                }
+
+                segments.add(new Segment(fallback != null ? fallback : raw, variable));
+            } else {
+                literal.append(fallback != null ? fallback : raw);
+            }
+
+            i = end + 1;
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(literal.toString(), null));
+        }
+
+        return new TemplateMessage(template, segments.toArray(new Segment[0]));
     }
 
     /** {@return true if this message is an overlay message, false otherwise} */
@@ -77,29 +141,9 @@ public class TemplateMessage {
         return template;
     }
 
-    /**
-     * Sets the template of this message to use when baking the message.
-     *
-     * @param template  the message template
-     * @return this, for chaining
-     */
-    public TemplateMessage setTemplate(String template) {
-        this.template = template;
-
-        return this;
-    }
-
-    /**
-     * Sets a variable to be substituted in the template message.
-     *
-     * @param key  the variable name to search for in the template
-     * @param value  the value to substitute the variable with
-     * @return this, for chaining
-     */
-    public TemplateMessage setVariable(String key, String value) {
-        this.variables.put(key, value);
-
-        return this;
+    /** {@return true if the template of this message is empty, false otherwise} */
+    public boolean isEmpty() {
+        return template.isEmpty();
     }
 
     /** {@return the text component to be used as the message body} */
@@ -108,12 +152,27 @@ public class TemplateMessage {
     }
 
     /**
-     * Bake the variables a new message.
+     * Bakes the variables in {@code context} into a new message, unless the message was last baked
+     * with an equal context.
+     *
+     * @param context  the values of the variables to substitute
      * @return this, for chaining
      */
-    public TemplateMessage bake() {
-        this.substitutor.setVariableResolver(new MapLookup(this.variables));
-        this.message = TextWrapper.literal(this.substitutor.replace(this.template));
+    public TemplateMessage bake(MessageContext context) {
+        if (message != null && context.equals(bakedContext)) {
+            return this;
+        }
+
+        builder.setLength(0);
+
+        for (Segment segment : segments) {
+            if (segment.variable() == null || !context.append(builder, segment.variable())) {
+                builder.append(segment.text());
+            }
+        }
+
+        this.message = TextWrapper.literal(builder.toString());
+        this.bakedContext = context;
 
         return this;
     }
@@ -136,20 +195,40 @@ public class TemplateMessage {
      * @param level  the level to send targeted message to, if applicable
      */
     public void send(MessageTarget target, @Nullable ServerLevelWrapper level) {
+        this.send(target, level, null);
+    }
+
+    /**
+     * Sends the message to the specified targets that pass {@code recipients}. If {@code target} is
+     * MessageTarget.ALL, {@code level} may be null.
+     *
+     * @param target  the target of the message
+     * @param level  the level to send targeted message to, if applicable
+     * @param recipients  a filter for the players who receive the message, or null to send it to all
+     * targeted players
+     */
+    public void send(MessageTarget target, @Nullable ServerLevelWrapper level,
+            @Nullable Predicate<ServerPlayer> recipients) {
         if (target != MessageTarget.ALL && level == null) {
             throw new IllegalArgumentException("Level must be specified unless target is MessageTarget.ALL.");
         }
 
-        if (target == MessageTarget.ALL) {
+        if (target == MessageTarget.ALL && recipients == null) {
             level.get().getServer().getPlayerList().broadcastSystemMessage(this.message.get(), overlay);
         } else {
-            Stream<ServerPlayerWrapper> playerStream = level.get().players().stream()
+            Stream<ServerPlayerWrapper> playerStream = (target == MessageTarget.ALL
+                    ? level.get().getServer().getPlayerList().getPlayers()
+                    : level.get().players()).stream()
                 .map(ServerPlayerWrapper::new);
 
             if (target == MessageTarget.SLEEPING) {
                 playerStream = playerStream.filter(ServerPlayerWrapper::isSleeping);
             }
 
+            if (recipients != null) {
+                playerStream = playerStream.filter(player -> recipients.test(player.get()));
+            }
+
             playerStream.forEach(player -> player.get().sendSystemMessage(this.message.get(), overlay));
         }
     }
@@ -164,4 +243,53 @@ public class TemplateMessage {
         SLEEPING
     }
 
+    /** Variables that may be substituted in a template message. */
+    public enum Variable {
+        /** The name of the player that the message is about. */
+        PLAYER("player"),
+        /** The number of active players in the dimension. */
+        TOTAL_PLAYERS("totalPlayers"),
+        /** The number of sleeping players in the dimension. */
+        SLEEPING_PLAYERS("sleepingPlayers"),
+        /** The percentage of active players in the dimension who are sleeping. */
+        SLEEPING_PERCENTAGE("sleepingPercentage"),
+        /** The percentage of the sleep time-speed that the server can keep up with. */
+        THROTTLE_PERCENTAGE("throttlePercentage");
+
+        private static final Variable[] VALUES = values();
+
+        private final String key;
+
+        Variable(String key) {
+            this.key = key;
+        }
+
+        /** {@return the name of this variable in templates} */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * {@return the variable named {@code key}, or null if there is none}
+         * @param key  the name of the variable in templates
+         */
+        public static @Nullable Variable byKey(String key) {
+            for (Variable variable : VALUES) {
+                if (variable.key.equals(key)) {
+                    return variable;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A part of a compiled template.
+     *
+     * @param text  the literal text, or the text to use if the variable has no value
+     * @param variable  the variable to substitute, or null for literal text
+     */
+    private record Segment(String text, @Nullable Variable variable) {}
+
 }
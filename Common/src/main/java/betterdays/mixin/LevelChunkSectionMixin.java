@@ -0,0 +1,82 @@
+package betterdays.mixin;
+
+import java.util.Arrays;
+
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import betterdays.time.effects.RandomTickingSection;
+
+@Mixin(LevelChunkSection.class)
+public abstract class LevelChunkSectionMixin implements RandomTickingSection {
+
+    @Unique private static final short[] betterdays$NO_POSITIONS = new short[0];
+
+    // Null when the positions need to be rebuilt
+    @Unique private short[] betterdays$randomTickingPositions;
+
+    @Shadow public abstract BlockState getBlockState(int x, int y, int z);
+
+    @Shadow public abstract boolean isRandomlyTicking();
+
+    @Inject(method = "setBlockState(IIILnet/minecraft/world/level/block/state/BlockState;Z)Lnet/minecraft/world/level/block/state/BlockState;", at = @At(value = "RETURN"))
+    private void betterdays$setBlockState(int x, int y, int z, BlockState state, boolean useLocks, CallbackInfoReturnable<BlockState> cir) {
+        BlockState oldState = cir.getReturnValue();
+
+        if (betterdays$isRandomlyTicking(oldState) != betterdays$isRandomlyTicking(state)) {
+            betterdays$randomTickingPositions = null;
+        }
+    }
+
+    @Inject(method = "recalcBlockCounts", at = @At(value = "HEAD"))
+    private void betterdays$recalcBlockCounts(CallbackInfo ci) {
+        betterdays$randomTickingPositions = null;
+    }
+
+    @Override
+    public short[] betterdays$getRandomTickingPositions() {
+        short[] positions = betterdays$randomTickingPositions;
+
+        if (positions == null) {
+            positions = isRandomlyTicking() ? betterdays$findRandomTickingPositions() : betterdays$NO_POSITIONS;
+            betterdays$randomTickingPositions = positions;
+        }
+
+        return positions;
+    }
+
+    @Unique
+    private short[] betterdays$findRandomTickingPositions() {
+        short[] found = new short[16];
+        int count = 0;
+
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (betterdays$isRandomlyTicking(getBlockState(x, y, z))) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = (short) (y << 8 | z << 4 | x);
+                    }
+                }
+            }
+        }
+
+        return Arrays.copyOf(found, count);
+    }
+
+    @Unique
+    private static boolean betterdays$isRandomlyTicking(BlockState state) {
+        return state.isRandomlyTicking() || state.getFluidState().isRandomlyTicking();
+    }
+
+}
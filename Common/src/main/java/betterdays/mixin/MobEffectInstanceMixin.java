@@ -0,0 +1,25 @@
+package betterdays.mixin;
+
+import net.minecraft.world.effect.MobEffectInstance;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+import betterdays.time.effects.EffectSyncedInstance;
+
+@Mixin(MobEffectInstance.class)
+public abstract class MobEffectInstanceMixin implements EffectSyncedInstance {
+
+    @Unique private int betterdays$syncedSecond = -1;
+
+    @Override
+    public int betterdays$getSyncedSecond() {
+        return betterdays$syncedSecond;
+    }
+
+    @Override
+    public void betterdays$setSyncedSecond(int second) {
+        betterdays$syncedSecond = second;
+    }
+
+}
@@ -0,0 +1,21 @@
+package betterdays.mixin;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import betterdays.time.effects.RandomTickAccelerator;
+
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelRandomTickMixin {
+
+    @Inject(method = "tickChunk", at = @At(value = "TAIL"))
+    private void betterdays$tickChunk(LevelChunk chunk, int randomTickSpeed, CallbackInfo ci) {
+        RandomTickAccelerator.onTickChunk((ServerLevel) (Object) this, chunk, randomTickSpeed);
+    }
+
+}
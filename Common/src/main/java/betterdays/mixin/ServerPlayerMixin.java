@@ -0,0 +1,25 @@
+package betterdays.mixin;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+import betterdays.time.effects.EffectSyncedPlayer;
+
+@Mixin(ServerPlayer.class)
+public abstract class ServerPlayerMixin implements EffectSyncedPlayer {
+
+    @Unique private long betterdays$effectSyncTick;
+
+    @Override
+    public long betterdays$getEffectSyncTick() {
+        return betterdays$effectSyncTick;
+    }
+
+    @Override
+    public void betterdays$setEffectSyncTick(long tick) {
+        betterdays$effectSyncTick = tick;
+    }
+
+}
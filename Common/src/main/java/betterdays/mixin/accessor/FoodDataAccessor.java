@@ -0,0 +1,17 @@
+package betterdays.mixin.accessor;
+
+import net.minecraft.world.food.FoodData;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(FoodData.class)
+public interface FoodDataAccessor {
+
+    @Accessor("tickTimer")
+    int betterdays$getTickTimer();
+
+    @Accessor("tickTimer")
+    void betterdays$setTickTimer(int tickTimer);
+
+}
@@ -0,0 +1,18 @@
+package betterdays.mixin.accessor;
+
+import java.util.Map;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(LevelChunk.class)
+public interface LevelChunkAccessor {
+
+    @Accessor("tickersInLevel")
+    Map<BlockPos, ? extends TickingBlockEntity> betterdays$getTickersInLevel();
+
+}
@@ -0,0 +1,21 @@
+package betterdays.mixin.accessor;
+
+import java.util.List;
+
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(Level.class)
+public interface LevelInvoker {
+
+    @Invoker("tickBlockEntities")
+    void betterdays$tickBlockEntities();
+
+    @Accessor("blockEntityTickers")
+    List<TickingBlockEntity> betterdays$getBlockEntityTickers();
+
+}
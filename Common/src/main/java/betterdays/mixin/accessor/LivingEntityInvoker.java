@@ -0,0 +1,14 @@
+package betterdays.mixin.accessor;
+
+import net.minecraft.world.entity.LivingEntity;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(LivingEntity.class)
+public interface LivingEntityInvoker {
+
+    @Invoker("tickEffects")
+    void betterdays$tickEffects();
+
+}
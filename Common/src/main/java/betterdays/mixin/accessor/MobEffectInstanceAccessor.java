@@ -0,0 +1,19 @@
+package betterdays.mixin.accessor;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.effect.MobEffectInstance;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(MobEffectInstance.class)
+public interface MobEffectInstanceAccessor {
+
+    @Accessor("duration")
+    void betterdays$setDuration(int duration);
+
+    @Accessor("hiddenEffect")
+    @Nullable MobEffectInstance betterdays$getHiddenEffect();
+
+}
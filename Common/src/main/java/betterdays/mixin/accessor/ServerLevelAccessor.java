@@ -0,0 +1,22 @@
+package betterdays.mixin.accessor;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.players.SleepStatus;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(ServerLevel.class)
+public interface ServerLevelAccessor {
+
+    @Mutable
+    @Accessor("sleepStatus")
+    void betterdays$setSleepStatus(SleepStatus sleepStatus);
+
+    @Invoker("tickPrecipitation")
+    void betterdays$tickPrecipitation(BlockPos pos);
+
+}
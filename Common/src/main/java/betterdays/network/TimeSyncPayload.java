@@ -0,0 +1,48 @@
+package betterdays.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import betterdays.BetterDays;
+
+/**
+ * Sent from the server to clients with Better Days installed in place of the vanilla time packet.
+ *
+ * <p>Along with the time itself, this payload carries the current time-speed so that clients can
+ * predict the passage of time on their own until the next payload arrives.
+ *
+ * @param gameTime  the game time at which the level has {@code dayTime}
+ * @param dayTime  the integral component of the day time
+ * @param fraction  the fractional component of the day time
+ * @param speed  the current time-speed
+ * @param sleeping  true if any players are sleeping in the level
+ */
+public record TimeSyncPayload(long gameTime, long dayTime, double fraction, double speed, boolean sleeping)
+        implements CustomPacketPayload {
+
+    public static final CustomPacketPayload.Type<TimeSyncPayload> TYPE =
+            new CustomPacketPayload.Type<>(ResourceLocation.fromNamespaceAndPath(BetterDays.MODID, "time_sync"));
+
+    public static final StreamCodec<FriendlyByteBuf, TimeSyncPayload> STREAM_CODEC =
+            CustomPacketPayload.codec(TimeSyncPayload::write, TimeSyncPayload::new);
+
+    private TimeSyncPayload(FriendlyByteBuf buf) {
+        this(buf.readVarLong(), buf.readVarLong(), buf.readDouble(), buf.readDouble(), buf.readBoolean());
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeVarLong(gameTime);
+        buf.writeVarLong(dayTime);
+        buf.writeDouble(fraction);
+        buf.writeDouble(speed);
+        buf.writeBoolean(sleeping);
+    }
+
+    @Override
+    public CustomPacketPayload.Type<TimeSyncPayload> type() {
+        return TYPE;
+    }
+
+}
@@ -1,13 +1,10 @@
 package betterdays.platform.services;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
-import org.jetbrains.annotations.NotNull;
-
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 
+import betterdays.network.TimeSyncPayload;
 import betterdays.wrappers.ServerLevelWrapper;
 
 public interface IPlatform {
@@ -20,8 +17,8 @@ public interface IPlatform {
 
     void onSleepFinished(ServerLevelWrapper levelWrapper, long time);
 
-    @NotNull Field findField(final @NotNull Class<?> clazz, final @NotNull String name) throws NoSuchFieldException;
+    boolean canReceiveTimeSync(ServerPlayer player);
 
-    @NotNull Method findMethod(final @NotNull Class<?> clazz, final @NotNull String name, final Class<?> @NotNull ... parameters) throws NoSuchMethodException;
+    void sendTimeSync(ServerPlayer player, TimeSyncPayload payload);
 
 }
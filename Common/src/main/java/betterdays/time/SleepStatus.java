@@ -19,12 +19,13 @@
 
 package betterdays.time;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 
 import net.minecraft.server.level.ServerPlayer;
 
-import betterdays.wrappers.ServerPlayerWrapper;
+import betterdays.time.engine.PlayerCensus;
 
 /**
  * This class keeps track of the number of active and sleeping players in a level.
@@ -33,13 +34,25 @@ import betterdays.wrappers.ServerPlayerWrapper;
  * ability to conditionally block vanilla sleep functionality.
  *
  * This class also includes a number of utility methods and getters for use in Better Days.
+ *
+ * Player counts are recounted only when vanilla reports a change in the players of the level, such as
+ * a player joining, leaving, changing game mode, or starting or stopping sleep. Between recounts, only
+ * the sleeping players are checked each tick, with a full recount every {@link #AUDIT_INTERVAL} ticks
+ * to catch changes that were not reported.
  */
-public class SleepStatus extends net.minecraft.server.players.SleepStatus {
+public class SleepStatus extends net.minecraft.server.players.SleepStatus implements PlayerCensus {
+
+    /** The number of ticks between full recounts of the players in this dimension. */
+    public static final int AUDIT_INTERVAL = 200;
 
     /** The number of active (online and not spectating) players in this dimension. */
     protected int activePlayerCount;
     /** The number of sleeping players in this dimension. */
     protected int sleepingPlayerCount;
+    /** The sleeping players in this dimension. */
+    protected final List<ServerPlayer> sleepingPlayers = new ArrayList<>();
+    /** The number of ticks since the players in this dimension were last recounted. */
+    protected int ticksSinceAudit;
     /** A {@code Supplier} that determines whether or not vanilla sleep should be suppressed. */
     protected Supplier<Boolean> preventSleepSupplier;
 
@@ -59,12 +72,14 @@ public class SleepStatus extends net.minecraft.server.players.SleepStatus {
      */
     public void removeAllSleepers() {
         sleepingPlayerCount = 0;
+        sleepingPlayers.clear();
     }
 
     /**
      * {@return the number of sleeping players}
      * Mimics super method in 1.17+.
      */
+    @Override
     public int amountSleeping() {
         return sleepingPlayerCount;
     }
@@ -73,11 +88,13 @@ public class SleepStatus extends net.minecraft.server.players.SleepStatus {
      * {@return the number of players currently active (not spectating)}
      * Mimics super method in 1.17+.
      */
+    @Override
     public int amountActive() {
         return activePlayerCount;
     }
 
     /** {@return true when all players are awake, false otherwise} */
+    @Override
     public boolean allAwake() {
         return sleepingPlayerCount == 0;
     }
@@ -106,17 +123,40 @@ public class SleepStatus extends net.minecraft.server.players.SleepStatus {
     public void updatePlayerCounts(List<ServerPlayer> playerList) {
         activePlayerCount = 0;
         sleepingPlayerCount = 0;
+        sleepingPlayers.clear();
+        ticksSinceAudit = 0;
 
         for (ServerPlayer player : playerList) {
             if (!player.isSpectator()) {
                 activePlayerCount++;
                 if (player.isSleeping()) {
                     sleepingPlayerCount++;
+                    sleepingPlayers.add(player);
                 }
             }
         }
     }
 
+    /**
+     * Checks that all players counted as sleeping are still sleeping, and recounts all players in
+     * {@code playerList} if any are not or if {@link #AUDIT_INTERVAL} ticks have passed since the last
+     * recount. Should run once per tick.
+     *
+     * @param playerList  the list of players in this dimension
+     */
+    public void tick(List<ServerPlayer> playerList) {
+        boolean stale = ++ticksSinceAudit >= AUDIT_INTERVAL;
+
+        for (int i = 0; i < sleepingPlayers.size() && !stale; i++) {
+            ServerPlayer player = sleepingPlayers.get(i);
+            stale = player.isRemoved() || player.isSpectator() || !player.isSleeping();
+        }
+
+        if (stale) {
+            updatePlayerCounts(playerList);
+        }
+    }
+
     /**
      * Returns the number of sleeping players required to meet the {@code percentageRequired} sleep
      * threshold based on current active player count.
@@ -161,17 +201,24 @@ public class SleepStatus extends net.minecraft.server.players.SleepStatus {
      * When {@link #preventSleepSupplier} returns false, this method mimics super method in 1.17+.
      * When {@link #preventSleepSupplier} returns true, this method blocks vanilla sleep in 1.17+.
      *
+     * Only the players counted as sleeping are checked, since players who are not sleeping cannot be
+     * in a deep sleep.
+     *
      * @param percentageRequired  percentage on which to calculate required sleeping player count
+     * @param playerList  unused, the sleeping players are tracked by this object
      */
     public boolean areEnoughDeepSleeping(int percentageRequired, List<ServerPlayer> playerList) {
         if (preventSleepSupplier.get()) {
             return false;
         }
 
-        long deepSleepers = playerList.stream()
-                .map(ServerPlayerWrapper::new)
-                .filter(ServerPlayerWrapper::isSleepingLongEnough)
-                .count();
+        int deepSleepers = 0;
+
+        for (ServerPlayer player : sleepingPlayers) {
+            if (player.isSleepingLongEnough()) {
+                deepSleepers++;
+            }
+        }
 
         return deepSleepers >= sleepersNeeded(percentageRequired);
     }
@@ -180,6 +227,9 @@ public class SleepStatus extends net.minecraft.server.players.SleepStatus {
      * This method updates this object's player counts and returns true or false if sleeping player
      * messages should be displayed.
      *
+     * Vanilla calls this method whenever a player joins or leaves the level, changes game mode, or
+     * starts or stops sleeping.
+     *
      * This method is only called on 1.17+.
      * When {@link #preventSleepSupplier} returns false, this method mimics super method in 1.17+.
      * When {@link #preventSleepSupplier} returns true, this method blocks vanilla sleep messages in 1.17+.
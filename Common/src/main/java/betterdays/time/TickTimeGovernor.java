@@ -0,0 +1,80 @@
+package betterdays.time;
+
+/**
+ * Slows down sleeping time-speed when the server can no longer keep up with it.
+ *
+ * <p>Every accelerated tick makes the time effects do more work, so a high sleep time-speed can push
+ * the server tick past 50 ms. Once the server falls behind, the night takes longer in real time than
+ * it would at a lower speed. This class keeps an exponentially weighted moving average of the server
+ * tick duration and, while players sleep, adjusts a throttle ratio that scales the sleep time-speed so
+ * that the average stays near a target milliseconds per tick (MSPT).
+ *
+ * <p>Each tick, the throttle is multiplied by {@code (target / average) ^ ADJUSTMENT_RATE}. Taking a
+ * fractional power of the correction keeps the throttle from overshooting while the average catches
+ * up with the change, and the throttle grows by at most 5% per tick. The throttle returns to 1.0 as
+ * soon as all players are awake.
+ */
+public class TickTimeGovernor {
+
+    /** The smallest throttle ratio, so that sleeping never stops time entirely. */
+    public static final double MIN_THROTTLE = 0.01D;
+
+    // The exponent applied to each correction
+    private static final double ADJUSTMENT_RATE = 0.2D;
+    // The largest factor by which the throttle may grow in a single tick
+    private static final double MAX_RECOVERY = 1.05D;
+
+    private double averageMspt = Double.NaN;
+    private double throttle = 1.0D;
+
+    /**
+     * Records the duration of the last server tick and updates the throttle ratio.
+     *
+     * @param tickNanos  the duration of the last server tick in nanoseconds
+     * @param throttling  true if the time-speed is currently accelerated and may be throttled
+     * @param targetMspt  the server tick duration to aim for in milliseconds, or 0 to disable throttling
+     * @param smoothing  the weight of the newest tick duration in the moving average, between 0.0 and 1.0
+     * @return the new throttle ratio
+     */
+    public double update(long tickNanos, boolean throttling, double targetMspt, double smoothing) {
+        double mspt = tickNanos / 1_000_000D;
+        averageMspt = Double.isNaN(averageMspt) ? mspt : averageMspt + smoothing * (mspt - averageMspt);
+
+        if (!throttling || targetMspt <= 0) {
+            throttle = 1.0D;
+        } else if (averageMspt > 0) {
+            double correction = Math.min(Math.pow(targetMspt / averageMspt, ADJUSTMENT_RATE), MAX_RECOVERY);
+            throttle = Math.clamp(throttle * correction, MIN_THROTTLE, 1.0D);
+        }
+
+        return throttle;
+    }
+
+    /**
+     * {@return the ratio by which sleep time-speed is currently scaled, between {@link #MIN_THROTTLE}
+     * and 1.0}
+     */
+    public double throttle() {
+        return throttle;
+    }
+
+    /**
+     * {@return the moving average of the server tick duration in milliseconds, or NaN before the
+     * first tick}
+     */
+    public double averageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * Scales {@code speed} by the current throttle ratio. Accelerated speeds are never throttled below
+     * vanilla speed, and speeds at or below vanilla speed are left unchanged.
+     *
+     * @param speed  the time-speed to scale
+     * @return the throttled time-speed
+     */
+    public double apply(double speed) {
+        return speed > 1.0D ? Math.max(1.0D, speed * throttle) : speed;
+    }
+
+}
@@ -191,6 +191,18 @@ public class Time extends Number implements Comparable<Time> {
         return time % DAY_TICKS;
     }
 
+    /**
+     * Returns the time-of-day of a time split into its integral and fractional components, between
+     * 0 (inclusive) and {@link #DAY_TICKS} (not inclusive).
+     *
+     * @param longPart  the integral component of the time
+     * @param fractionPart  the fractional component of the time
+     * @return the time-of-day
+     */
+    public static double timeOfDay(long longPart, double fractionPart) {
+        return (double) (longPart % DAY_TICKS) + fractionPart;
+    }
+
     /**
      * {@return true if a new day has started between {@code a} and {@code b}}
      * @param a  the first time to check
@@ -200,6 +212,15 @@ public class Time extends Number implements Comparable<Time> {
         return a.getDay() != b.getDay();
     }
 
+    /**
+     * {@return true if a new day has started between the ticks {@code a} and {@code b}}
+     * @param a  the first tick to check
+     * @param b  the second tick to check
+     */
+    public static boolean crossedMorning(long a, long b) {
+        return a / DAY_TICKS != b / DAY_TICKS;
+    }
+
     /**
      * Returns {@code this} time's corresponding Overworld day, with the first day returning 1.
      * Days are counted every {@link #DAY_TICKS} ticks.
@@ -329,6 +350,27 @@ public class Time extends Number implements Comparable<Time> {
         }
     }
 
+    /**
+     * Checks if {@code value} is between {@code a} and {@code b} in modular arithmetic. This is the
+     * primitive equivalent of {@link #betweenMod(Time, Time)}.
+     *
+     * All three times <b>must</b> be reduced before using this method.
+     *
+     * @param value  the time to check
+     * @param a  the earlier time
+     * @param b  the later time
+     * @return true if {@code a < value < b} in modular arithmetic
+     */
+    public static boolean betweenMod(double value, double a, double b) {
+        if (a == b) {
+            return false;
+        } else if (a < b) {
+            return value > a && value < b;
+        } else {
+            return value > a || value < b;
+        }
+    }
+
     /**
      * Compares {@code this} object with {@code other}.
      *
@@ -0,0 +1,111 @@
+package betterdays.time;
+
+/**
+ * A mutable counterpart to {@link Time}, used on paths that run every tick where allocating a new
+ * {@code Time} for every operation would be wasteful.
+ *
+ * <p>Like {@code Time}, the value is stored as an integral {@code long} component and a fractional
+ * {@code double} component. Values are normalized by the same rules as {@link Time#Time(long, double)}
+ * so that an accumulator and a {@code Time} that have been through the same operations hold the same
+ * value.
+ */
+public final class TimeAccumulator {
+
+    /** The integral component of this accumulator. Represents tick count. */
+    private long longPart;
+    /** The fractional component of this accumulator, used to represent time between ticks. */
+    private double fractionPart;
+
+    /**
+     * Sets the value of this accumulator.
+     *
+     * @param longPart  the tick count component, represented as a long
+     * @param fractionPart  the fractional component, used to represent time between ticks
+     * @return this, for chaining
+     */
+    public TimeAccumulator set(long longPart, double fractionPart) {
+        // Constrain fractionPart to 0<= |fractionPart| < 1
+        long overflow = (long) fractionPart;
+        longPart = longPart + overflow;
+        fractionPart = fractionPart - overflow;
+
+        // Keep longPart and fractionPart the same sign
+        if (longPart != 0 && fractionPart != 0 && longPart > 0 != fractionPart > 0) {
+            if (longPart > 0) {
+                longPart--;
+                fractionPart++;
+            } else {
+                longPart++;
+                fractionPart--;
+            }
+        }
+
+        this.longPart = longPart;
+        this.fractionPart = fractionPart;
+
+        return this;
+    }
+
+    /**
+     * Sets the value of this accumulator to the value of {@code time}.
+     *
+     * @param time  the time to copy
+     * @return this, for chaining
+     */
+    public TimeAccumulator set(Time time) {
+        this.longPart = time.longValue();
+        this.fractionPart = time.fractionalValue();
+
+        return this;
+    }
+
+    /**
+     * Adds {@code val} to this accumulator. Equivalent to {@code time.add(val)}.
+     *
+     * @param val  the value to add
+     * @return this, for chaining
+     */
+    public TimeAccumulator add(double val) {
+        long valLong = (long) val;
+
+        return set(this.longPart + valLong, this.fractionPart + (val - valLong));
+    }
+
+    /** {@return the integral component of this accumulator} */
+    public long longValue() {
+        return longPart;
+    }
+
+    /** {@return the fractional component of this accumulator, in the range [0,1)} */
+    public double fractionalValue() {
+        return fractionPart;
+    }
+
+    /** {@return the value of this accumulator as a {@code double}. This may reduce precision} */
+    public double doubleValue() {
+        return (double) longPart + fractionPart;
+    }
+
+    /**
+     * {@return this time-of-day, between 0 (inclusive) and {@link Time#DAY_TICKS} (not inclusive)}
+     */
+    public double timeOfDay() {
+        return Time.timeOfDay(longPart, fractionPart);
+    }
+
+    /** {@return the Overworld day of this accumulator's value} */
+    public long getDay() {
+        return longPart / Time.DAY_TICKS;
+    }
+
+    /** {@return a new immutable {@link Time} with the value of this accumulator} */
+    public Time toTime() {
+        return new Time(longPart, fractionPart);
+    }
+
+    @Override
+    public String toString() {
+        return toTime().toString();
+    }
+
+}
@@ -34,10 +34,16 @@ public class TimeContext {
 
     /** The {@code TimeService} for the level whose time changed. */
     protected final TimeService timeService;
-    /** The new time after this time change occurred. */
-    protected final Time currentTime;
+    /** The integral component of the new time after this time change occurred. */
+    protected long currentTimeLong;
+    /** The fractional component of the new time after this time change occurred. */
+    protected double currentTimeFraction;
     /** The amount of time that passed during this time change. */
-    protected final Time timeDelta;
+    protected double timeDelta;
+
+    private Time currentTime;
+    private Time timeDeltaTime;
+    private int playersTouched;
 
     /**
      * Creates a new instance.
@@ -48,8 +54,38 @@ public class TimeContext {
      */
     public TimeContext(TimeService timeService, Time currentTime, Time timeDelta) {
         this.timeService = timeService;
+        this.currentTimeLong = currentTime.longValue();
+        this.currentTimeFraction = currentTime.fractionalValue();
+        this.timeDelta = timeDelta.doubleValue();
         this.currentTime = currentTime;
+        this.timeDeltaTime = timeDelta;
+    }
+
+    /**
+     * Creates a reusable instance with no time change. The {@code TimeService} updates it every
+     * tick with {@link #update(TimeAccumulator, double)} instead of allocating a new context.
+     *
+     * @param timeService  the {@code TimeService} for the level
+     */
+    TimeContext(TimeService timeService) {
+        this.timeService = timeService;
+    }
+
+    /**
+     * Updates this context with the result of a new time change.
+     *
+     * @param currentTime  the current time after the change occurred
+     * @param timeDelta  the time that has elapsed during this tick
+     * @return this, for chaining
+     */
+    TimeContext update(TimeAccumulator currentTime, double timeDelta) {
+        this.currentTimeLong = currentTime.longValue();
+        this.currentTimeFraction = currentTime.fractionalValue();
         this.timeDelta = timeDelta;
+        this.currentTime = null;
+        this.timeDeltaTime = null;
+
+        return this;
     }
 
     /** {@return the time service for the level} */
@@ -59,12 +95,48 @@ public class TimeContext {
 
     /** {@return the new time set during this tick} */
     public Time getCurrentTime() {
+        if (currentTime == null) {
+            currentTime = new Time(currentTimeLong, currentTimeFraction);
+        }
+
         return currentTime;
     }
 
     /** {@return the time that has elapsed during this tick} */
     public Time getTimeDelta() {
-        return timeDelta;
+        if (timeDeltaTime == null) {
+            timeDeltaTime = new Time(timeDelta);
+        }
+
+        return timeDeltaTime;
+    }
+
+    /**
+     * {@return the number of whole ticks that have elapsed during this tick}
+     * Equivalent to {@code getTimeDelta().longValue()} without creating a {@link Time} object.
+     */
+    public long getTimeDeltaTicks() {
+        return (long) timeDelta;
+    }
+
+    /**
+     * Records that the current time effect applied to {@code players} more players. Used for
+     * profiling only.
+     *
+     * @param players  the number of players
+     */
+    public void addPlayersTouched(int players) {
+        this.playersTouched += players;
+    }
+
+    /** {@return the number of players that the current time effect applied to} */
+    public int getPlayersTouched() {
+        return playersTouched;
+    }
+
+    /** Resets the number of players touched before running the next time effect. */
+    void resetPlayersTouched() {
+        this.playersTouched = 0;
     }
 
     /** {@return the level in which this time tick event occurred} */
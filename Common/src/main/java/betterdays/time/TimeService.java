@@ -21,15 +21,33 @@
 
 package betterdays.time;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.LevelAccessor;
 
 import betterdays.BetterDays;
-import betterdays.registry.TimeEffectsRegistry;
-import betterdays.registry.RegistryObject;
 import betterdays.config.ConfigHandler;
+import betterdays.network.TimeSyncPayload;
 import betterdays.platform.Services;
 import betterdays.time.effects.TimeEffect;
-import betterdays.utils.MathUtils;
+import betterdays.time.effects.TimeEffectPipeline;
+import betterdays.time.engine.EffectSink;
+import betterdays.time.engine.TimeEngine;
+import betterdays.time.jfr.MorningEvent;
+import betterdays.time.jfr.TimeAdvanceEvent;
+import betterdays.time.jfr.TimeBroadcastEvent;
+import betterdays.time.jfr.TimeEffectEvent;
+import betterdays.time.jfr.TimeTickEvent;
+import betterdays.time.profiling.TickProfiler;
 import betterdays.wrappers.ServerLevelWrapper;
 import betterdays.wrappers.TimePacketWrapper;
 
@@ -38,21 +56,38 @@ import betterdays.wrappers.TimePacketWrapper;
  */
 public class TimeService {
 
-    /** Time of day when the sun rises above the horizon. */
-    public static final Time DAY_START = new Time(ConfigHandler.Common.dayStart());
-
-    /** Time of day when the sun sets below the horizon. */
-    public static final Time NIGHT_START = new Time(ConfigHandler.Common.nightStart());
-
-    // The largest number of lunar cycles that can be stored in an int
-    private static final int OVERFLOW_THRESHOLD = 11184 * Time.LUNAR_CYCLE_TICKS;
+    // Events are only created while a recording enables their type, so that ticks allocate nothing otherwise
+    private static final EventType TICK_EVENT = EventType.getEventType(TimeTickEvent.class);
+    private static final EventType ADVANCE_EVENT = EventType.getEventType(TimeAdvanceEvent.class);
+    private static final EventType EFFECT_EVENT = EventType.getEventType(TimeEffectEvent.class);
+    private static final EventType MORNING_EVENT = EventType.getEventType(MorningEvent.class);
+    private static final EventType BROADCAST_EVENT = EventType.getEventType(TimeBroadcastEvent.class);
 
     /** The level managed by this {@code TimeService}. */
     public final ServerLevelWrapper level;
     /** The {@code SleepStatus} object for this level. */
     public final SleepStatus sleepStatus;
-
-    private double timeDecimalAccumulator = 0;
+    /** Decides when this level's time needs to be sent to clients that use the vanilla time packet. */
+    public final TimeSyncTracker vanillaTimeSync = new TimeSyncTracker();
+    /** Decides when this level's time needs to be sent to clients that receive {@link TimeSyncPayload}. */
+    public final TimeSyncTracker payloadTimeSync = new TimeSyncTracker();
+    /** Scales the sleep time-speed of this level down when the server cannot keep up with it. */
+    public final TickTimeGovernor governor = new TickTimeGovernor();
+
+    /** Advances this level's time. */
+    private final TimeEngine engine;
+    /** Runs the time effects and the morning wake-up for {@link #engine}. */
+    private final LevelEffectSink effectSink = new LevelEffectSink();
+
+    /** The levels whose players observe this level's time, including this level itself. */
+    private List<ServerLevel> observedLevels;
+
+    /** Measures elapsed real time when time is anchored to the wall clock. */
+    private final WallClock wallClock = new WallClock();
+    /** Context passed to time effects, reused every tick. */
+    private final TimeContext context = new TimeContext(this);
+    /** The time effects that can currently apply in this level. */
+    private final TimeEffectPipeline effects = new TimeEffectPipeline();
 
     /**
      * Creates a new instance.
@@ -62,35 +97,122 @@ public class TimeService {
     public TimeService(ServerLevelWrapper level) {
         this.level = level;
         this.sleepStatus = new SleepStatus(ConfigHandler.Common::enableSleepFeature);
+        this.engine = new TimeEngine(level, sleepStatus, governor, TimeSpeedSchedule::get);
 
         this.level.setSleepStatus(this.sleepStatus);
+        updateObservedLevels(null);
+    }
+
+    /**
+     * Rebuilds the list of levels whose players observe this level's time. Should be called
+     * whenever a level is loaded or unloaded.
+     *
+     * @param unloading  a level that is being unloaded and should be left out, or null
+     */
+    public void updateObservedLevels(@Nullable LevelAccessor unloading) {
+        List<ServerLevel> levels = new ArrayList<>();
+        levels.add(level.get());
+
+        if (level.get().equals(level.get().getServer().overworld())) {
+            for (ServerLevel candidate : level.get().getServer().getAllLevels()) {
+                if (candidate != level.get() && candidate != unloading && ServerLevelWrapper.isDerived(candidate)) {
+                    levels.add(candidate);
+                }
+            }
+        }
+
+        observedLevels = levels;
     }
 
     /**
      * Performs all time, sleep, and weather calculations. Should run once per tick.
      */
     public void tick() {
+        sleepStatus.tick(level.get().players());
+
         if (!level.daylightRuleEnabled()) {
+            wallClock.reset();
             return;
         }
 
-        Time oldTime = getDayTime();
-        Time deltaTime = tickTime();
-        Time time = getDayTime();
+        TimeTickEvent tickEvent = beginEvent(TICK_EVENT, TimeTickEvent::new);
+        long tickStart = TickProfiler.begin();
 
-        TimeContext context = new TimeContext(this, time, deltaTime);
-        getActiveTimeEffects().forEach(effect -> effect.get().onTimeTick(context));
+        boolean throttling = TimeSpeedSchedule.get().sleepEnabled && !sleepStatus.allAwake();
+        governor.update(level.lastServerTickNanos(), throttling, ConfigHandler.Common.targetMspt(),
+                ConfigHandler.Common.msptSmoothing());
 
-        if (ConfigHandler.Common.enableSleepFeature() && !sleepStatus.allAwake() && Time.crossedMorning(oldTime, time)) {
-            handleMorning();
+        double requestedSpeed = tickStart != 0 ? engine.getScheduledTimeSpeed(engine.getTimeOfDay()) : 0;
+        double ticks = 1D;
+
+        if (ConfigHandler.Common.wallClockTime()) {
+            ticks = wallClock.advance(ConfigHandler.Common.wallClockMaxCatchUp());
+        } else {
+            wallClock.reset();
         }
 
-        preventTimeOverflow();
-        broadcastTime();
+        effectSink.begin(tickStart);
+        double deltaTime = engine.tick(ticks, effectSink);
+        int sleepingPlayers = effectSink.sleepingPlayers;
+
+        syncTime();
         vanillaTimeCompensation();
+
+        TickProfiler.recordTick(requestedSpeed, deltaTime, sleepingPlayers, governor.throttle());
+        TickProfiler.record(TickProfiler.Phase.TICK, tickStart);
+
+        if (tickEvent != null && tickEvent.shouldCommit()) {
+            tickEvent.dimension = getDimensionName();
+            tickEvent.timeDelta = deltaTime;
+            tickEvent.sleepingPlayers = sleepingPlayers;
+            tickEvent.effects = effectSink.effectsRun;
+            tickEvent.throttle = governor.throttle();
+            tickEvent.averageMspt = governor.averageMspt();
+            tickEvent.commit();
+        }
+    }
+
+    private void tickEffect(TimeEffect effect) {
+        TimeEffectEvent event = beginEvent(EFFECT_EVENT, TimeEffectEvent::new);
+        long start = TickProfiler.begin();
+        context.resetPlayersTouched();
+
+        effect.onTimeTick(context);
+        TickProfiler.recordEffect(effect, start);
+
+        if (event != null && event.shouldCommit()) {
+            event.dimension = getDimensionName();
+            event.effect = TimeEffectPipeline.getId(effect);
+            event.extraTicks = context.getTimeDeltaTicks() - 1;
+            event.playersTouched = context.getPlayersTouched();
+            event.commit();
+        }
+    }
+
+    /**
+     * Advances time as if {@code ticks} ticks of the Better Days day cycle had passed, without
+     * running any time effects, then sends the new time to all players who observe it.
+     *
+     * <p>See {@link TimeEngine#fastForward(long, EffectSink)}. This method runs in constant time
+     * regardless of {@code ticks}.
+     *
+     * @param ticks  the number of ticks to advance
+     * @return the new time
+     */
+    public Time fastForward(long ticks) {
+        Time time = engine.fastForward(ticks, effectSink);
+
+        broadcastTime();
+        vanillaTimeSync.invalidate();
+        payloadTimeSync.invalidate();
+
+        return time;
     }
 
     private void handleMorning() {
+        MorningEvent event = beginEvent(MORNING_EVENT, MorningEvent::new);
+        long start = TickProfiler.begin();
+        int sleepingPlayers = sleepStatus.amountSleeping();
         long time = level.get().getDayTime();
 
         Services.PLATFORM.onSleepFinished(level, time);
@@ -103,6 +225,13 @@ public class TimeService {
 
         BetterDays.LOGGER.debug("Sleep cycle complete on dimension: {}.",
                 level.get().dimension().location());
+        TickProfiler.record(TickProfiler.Phase.MORNING, start);
+
+        if (event != null && event.shouldCommit()) {
+            event.dimension = getDimensionName();
+            event.sleepingPlayers = sleepingPlayers;
+            event.commit();
+        }
     }
 
     /**
@@ -117,78 +246,6 @@ public class TimeService {
         level.get().setDayTime(level.get().getDayTime() - 1);
     }
 
-    /**
-     * Prevents time value from getting too large by essentially keeping it modulo a multiple of the
-     * lunar cycle.
-     */
-    private void preventTimeOverflow() {
-        long time = level.get().getDayTime();
-        if (time > OVERFLOW_THRESHOLD) {
-            level.get().setDayTime(time - OVERFLOW_THRESHOLD);
-        }
-    }
-
-    /**
-     * Progresses time in this {@link #level} based on the current time-speed.
-     * This method should be called every tick.
-     *
-     * @return the amount of time that elapsed
-     */
-    private Time tickTime() {
-        Time time = getDayTime();
-
-        Time timeDelta = new Time(getTimeSpeed(time));
-        timeDelta = correctForOvershoot(time, timeDelta);
-
-        setDayTime(time.add(timeDelta));
-        return timeDelta;
-    }
-
-    /**
-     * Checks to see if the time-speed will change after elapsing time by {@code timeDelta}, and
-     * correct for any overshooting (or undershooting) based on the new speed.
-     *
-     * @param time  the current time
-     * @param timeDelta  the proposed amount of time to elapse
-     * @return the adjusted amount of time to elapse
-     */
-    private Time correctForOvershoot(Time time, Time timeDelta) {
-        Time nextTime = time.add(timeDelta);
-        Time timeOfDay = time.timeOfDay();
-        Time nextTimeOfDay = nextTime.timeOfDay();
-
-        if (sleepStatus.allAwake()) {
-            // day to night transition
-            if (NIGHT_START.betweenMod(timeOfDay, nextTimeOfDay)) {
-                double nextTimeSpeed = getTimeSpeed(nextTime);
-                Time timeUntilBreakpoint = NIGHT_START.subtract(timeOfDay);
-                double breakpointRatio = 1 - timeUntilBreakpoint.divide(timeDelta);
-
-                return timeUntilBreakpoint.add(nextTimeSpeed * breakpointRatio);
-            }
-
-            // day to night transition
-            if (DAY_START.betweenMod(timeOfDay, nextTimeOfDay)) {
-                double nextTimeSpeed = getTimeSpeed(nextTime);
-                Time timeUntilBreakpoint = DAY_START.subtract(timeOfDay);
-                double breakpointRatio = 1 - timeUntilBreakpoint.divide(timeDelta);
-
-                return timeUntilBreakpoint.add(nextTimeSpeed * breakpointRatio);
-            }
-        } else {
-            // morning transition
-            Time timeUntilMorning = Time.DAY_LENGTH.subtract(timeOfDay);
-            if (timeUntilMorning.compareTo(timeDelta) < 0) {
-                double nextTimeSpeed = ConfigHandler.Common.daySpeed();
-                double breakpointRatio = 1 - timeUntilMorning.divide(timeDelta);
-
-                return timeUntilMorning.add(nextTimeSpeed * breakpointRatio);
-            }
-        }
-
-        return timeDelta;
-    }
-
     /**
      * Calculates the current time-speed multiplier based on the time-of-day and number of sleeping
      * players.
@@ -196,40 +253,43 @@ public class TimeService {
      * Accepts time as a parameter to allow for prediction of other times. Prediction of times other
      * than the current time may not be accurate due to sleeping player changes.
      *
-     * A return value of 1 is equivalent to vanilla time speed.
+     * A return value of 1 is equivalent to vanilla time speed. The sleep time-speed is scaled by the
+     * current throttle ratio of {@link #governor}.
      *
      * @param time  the time at which to calculate the time-speed
      * @return the time-speed
      */
     public double getTimeSpeed(Time time) {
-        if (!ConfigHandler.Common.enableSleepFeature() || sleepStatus.allAwake()) {
-            if (time.equals(DAY_START) || time.timeOfDay().betweenMod(DAY_START, NIGHT_START)) {
-                return ConfigHandler.Common.daySpeed();
-            } else {
-                return ConfigHandler.Common.nightSpeed();
-            }
-        }
-
-        if (sleepStatus.allAsleep() && ConfigHandler.Common.sleepSpeedAll() >= 0) {
-            return ConfigHandler.Common.sleepSpeedAll();
-        }
-
-        double sleepRatio = sleepStatus.ratio();
-        double curve = ConfigHandler.Common.sleepSpeedCurve();
-        double speedRatio = MathUtils.normalizedTunableSigmoid(sleepRatio, curve);
+        return engine.getTimeSpeed(Time.timeOfDay(time.longValue(), time.fractionalValue()));
+    }
 
-        double sleepSpeedMin = ConfigHandler.Common.sleepSpeedMin();
-        double sleepSpeedMax = ConfigHandler.Common.sleepSpeedMax();
-        double multiplier = MathUtils.lerp(speedRatio, sleepSpeedMin, sleepSpeedMax);
+    /**
+     * Calculates the time-speed multiplier at {@code timeOfDay}. This is the primitive equivalent
+     * of {@link #getTimeSpeed(Time)}.
+     *
+     * @param timeOfDay  the time-of-day at which to calculate the time-speed
+     * @return the time-speed
+     */
+    public double getTimeSpeed(double timeOfDay) {
+        return engine.getTimeSpeed(timeOfDay);
+    }
 
-        return multiplier;
+    /**
+     * Calculates the time-speed multiplier at {@code timeOfDay} as configured by the time-speed
+     * schedule, before any throttling by {@link #governor}.
+     *
+     * @param timeOfDay  the time-of-day at which to calculate the time-speed
+     * @return the scheduled time-speed
+     */
+    public double getScheduledTimeSpeed(double timeOfDay) {
+        return engine.getScheduledTimeSpeed(timeOfDay);
     }
 
     /**
      * {@return this level's time as an instance of {@link Time}}
      */
     public Time getDayTime() {
-        return new Time(level.get().getDayTime(), timeDecimalAccumulator);
+        return engine.getDayTime();
     }
 
     /**
@@ -238,19 +298,106 @@ public class TimeService {
      * @return the new time
      */
     public Time setDayTime(Time time) {
-        timeDecimalAccumulator = time.fractionalValue();
-        level.get().setDayTime(time.longValue());
-        return time;
+        return engine.setDayTime(time);
+    }
+
+    /**
+     * Broadcasts the current time to all players who observe it, unless adaptive time sync is
+     * enabled and clients can still predict the time on their own.
+     *
+     * <p>Clients that receive {@link TimeSyncPayload} predict time at the current time-speed, while
+     * vanilla clients advance time at {@link TimeSyncTracker#VANILLA_CLIENT_RATE}, so each kind of
+     * client is tracked separately. A vanilla client's prediction does not depend on the time-speed,
+     * so only drift, the sleep state and the keep-alive interval resend the vanilla time packet.
+     */
+    private void syncTime() {
+        long gameTime = level.get().getGameTime();
+        long time = level.get().getDayTime();
+        boolean sleeping = !sleepStatus.allAwake();
+        double speed = engine.getTimeSpeed(engine.getTimeOfDay());
+        boolean sendPayload = true;
+        boolean sendVanilla = true;
+
+        if (ConfigHandler.Common.adaptiveTimeSync()) {
+            int interval = ConfigHandler.Common.timeSyncInterval();
+            double maxDrift = ConfigHandler.Common.timeSyncMaxDrift();
+
+            sendPayload = payloadTimeSync.shouldSend(gameTime, time, speed, sleeping, speed, interval, maxDrift);
+            sendVanilla = vanillaTimeSync.shouldSend(gameTime, time, TimeSyncTracker.VANILLA_CLIENT_RATE,
+                    sleeping, TimeSyncTracker.VANILLA_CLIENT_RATE, interval, maxDrift);
+        }
+
+        if (sendPayload) {
+            payloadTimeSync.onSent(gameTime, time, speed, sleeping, speed);
+        } else {
+            payloadTimeSync.onSuppressed();
+        }
+
+        if (sendVanilla) {
+            vanillaTimeSync.onSent(gameTime, time, TimeSyncTracker.VANILLA_CLIENT_RATE, sleeping,
+                    TimeSyncTracker.VANILLA_CLIENT_RATE);
+        } else {
+            vanillaTimeSync.onSuppressed();
+        }
+
+        if (sendPayload || sendVanilla) {
+            broadcastTime(sendPayload, sendVanilla, speed);
+        }
     }
 
     /**
      * Broadcasts the current time to all players who observe it.
      */
     public void broadcastTime() {
+        broadcastTime(true, true, engine.getTimeSpeed(engine.getTimeOfDay()));
+    }
+
+    /**
+     * Broadcasts the current time to the players who observe it. Players whose client can receive
+     * {@link TimeSyncPayload} are sent the payload, and all others are sent the vanilla time packet.
+     *
+     * @param payloadClients  true to send the time to players who receive the payload
+     * @param vanillaClients  true to send the time to players who receive the vanilla time packet
+     * @param speed  the current time-speed
+     */
+    private void broadcastTime(boolean payloadClients, boolean vanillaClients, double speed) {
+        TimeBroadcastEvent event = beginEvent(BROADCAST_EVENT, TimeBroadcastEvent::new);
+        long start = TickProfiler.begin();
+        int payloadsSent = 0;
+        int vanillaPacketsSent = 0;
         TimePacketWrapper timePacket = TimePacketWrapper.create(level);
-        level.get().getServer().getPlayerList().getPlayers().stream()
-                .filter(player -> managesLevel(new ServerLevelWrapper(player.level())))
-                .forEach(player -> player.connection.send(timePacket.get()));
+        // Only created once a player who receives it is found
+        TimeSyncPayload payload = null;
+
+        for (ServerLevel observedLevel : observedLevels) {
+            for (ServerPlayer player : observedLevel.players()) {
+                if (Services.PLATFORM.canReceiveTimeSync(player)) {
+                    if (payloadClients) {
+                        if (payload == null) {
+                            // The level reaches this day time once the vanilla tick that follows this one has run
+                            payload = new TimeSyncPayload(level.get().getGameTime() + 1, level.get().getDayTime(),
+                                    engine.getFractionalTime(), speed, !sleepStatus.allAwake());
+                        }
+
+                        Services.PLATFORM.sendTimeSync(player, payload);
+                        payloadsSent++;
+                    }
+                } else if (vanillaClients) {
+                    player.connection.send(timePacket.get());
+                    vanillaPacketsSent++;
+                }
+            }
+        }
+
+        TickProfiler.recordBroadcast(payloadsSent, vanillaPacketsSent);
+        TickProfiler.record(TickProfiler.Phase.BROADCAST, start);
+
+        if (event != null && event.shouldCommit()) {
+            event.dimension = getDimensionName();
+            event.payloadsSent = payloadsSent;
+            event.vanillaPacketsSent = vanillaPacketsSent;
+            event.commit();
+        }
     }
 
     /**
@@ -262,18 +409,85 @@ public class TimeService {
      * @return true if {@code levelToCheck} has its time managed by this object, or false otherwise.
      */
     public boolean managesLevel(ServerLevelWrapper levelToCheck) {
-        if (level.get().equals(levelToCheck.get())) {
-            return true;
-        } else if (level.get().equals(level.get().getServer().overworld())
-                && ServerLevelWrapper.isDerived(levelToCheck.get())) {
-            return true;
-        } else {
-            return false;
+        return observedLevels.contains(levelToCheck.get());
+    }
+
+    private String getDimensionName() {
+        return level.get().dimension().location().toString();
+    }
+
+    /**
+     * {@return a new event that has begun, or null if no recording enables events of {@code type}}
+     * @param type  the type of the event
+     * @param factory  creates the event
+     */
+    private static <E extends Event> @Nullable E beginEvent(EventType type, Supplier<E> factory) {
+        if (!type.isEnabled()) {
+            return null;
         }
+
+        E event = factory.get();
+        event.begin();
+
+        return event;
     }
 
-    private Collection<RegistryObject<TimeEffect>> getActiveTimeEffects() {
-        return TimeEffectsRegistry.TIME_EFFECT_REGISTRY.getEntries();
+    /** Runs the time effects and completes sleep cycles as {@link #engine} advances time. */
+    private class LevelEffectSink implements EffectSink {
+
+        private long tickStart;
+        // When the time advance started, or 0 if no recording enables TimeAdvanceEvent
+        private long advanceStart;
+
+        /** The number of sleeping players once the time effects of the last tick had run. */
+        int sleepingPlayers;
+        /** The number of time effects that ran in the last tick. */
+        int effectsRun;
+
+        /**
+         * Prepares to receive a tick of {@link #engine}.
+         * @param tickStart  the value returned by {@link TickProfiler#begin()} when the tick started
+         */
+        void begin(long tickStart) {
+            this.tickStart = tickStart;
+            this.advanceStart = ADVANCE_EVENT.isEnabled() ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta) {
+            TickProfiler.record(TickProfiler.Phase.ADVANCE, tickStart);
+
+            if (advanceStart != 0) {
+                TimeAdvanceEvent event = new TimeAdvanceEvent();
+
+                if (event.shouldCommit()) {
+                    event.dimension = getDimensionName();
+                    event.timeDelta = timeDelta;
+                    event.advanceTime = System.nanoTime() - advanceStart;
+                    event.commit();
+                }
+
+                advanceStart = 0;
+            }
+
+            context.update(dayTime, timeDelta);
+            TimeEffect[] activeEffects = effects.get(!sleepStatus.allAwake());
+            long effectsStart = TickProfiler.begin();
+
+            for (TimeEffect effect : activeEffects) {
+                tickEffect(effect);
+            }
+
+            TickProfiler.record(TickProfiler.Phase.EFFECTS, effectsStart);
+            effectsRun = activeEffects.length;
+            sleepingPlayers = sleepStatus.amountSleeping();
+        }
+
+        @Override
+        public void onMorning() {
+            handleMorning();
+        }
+
     }
 
 }
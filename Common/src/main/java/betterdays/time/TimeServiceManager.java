@@ -21,10 +21,18 @@
 
 package betterdays.time;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 
 import betterdays.config.ConfigHandler;
+import betterdays.message.SleepNotificationAggregator;
 import betterdays.wrappers.ServerLevelWrapper;
 
 /**
@@ -32,11 +40,52 @@ import betterdays.wrappers.ServerLevelWrapper;
  */
 public class TimeServiceManager {
 
-    /** The Overworld {@code TimeService} object. null if Overworld not loaded. */
-    public static TimeService service;
+    /**
+     * The {@code TimeService} of every loaded level that keeps its own time, keyed by dimension.
+     * Dimension keys are interned, so they are compared by identity.
+     */
+    private static final Map<ResourceKey<Level>, TimeService> services = new IdentityHashMap<>();
     /** The earliest time at which players are no longer allowed to sleep in vanilla. */
     public static final Time VANILLA_SLEEP_END = new Time(23460);
 
+    /**
+     * Returns the {@code TimeService} that manages the time of {@code level}, or null if the time of
+     * {@code level} is not managed by Better Days. Levels that derive their time from the Overworld
+     * do not have their own {@code TimeService}.
+     *
+     * @param level  the level to look up
+     * @return the {@code TimeService} of {@code level}, or null
+     */
+    public static @Nullable TimeService get(@Nullable LevelAccessor level) {
+        if (level instanceof Level lvl) {
+            TimeService service = services.get(lvl.dimension());
+
+            if (service != null && service.level.get() == level) {
+                return service;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the {@code TimeService} whose time is observed in {@code level}. This is the same as
+     * {@link #get(LevelAccessor)}, except that levels derived from the Overworld return the
+     * {@code TimeService} of the Overworld.
+     *
+     * @param level  the level to look up
+     * @return the {@code TimeService} whose time is observed in {@code level}, or null
+     */
+    public static @Nullable TimeService getObservedBy(@Nullable LevelAccessor level) {
+        TimeService service = get(level);
+
+        if (service == null && level instanceof ServerLevel serverLevel && ServerLevelWrapper.isDerived(level)) {
+            service = get(serverLevel.getServer().overworld());
+        }
+
+        return service;
+    }
+
     /**
      * Modifies permitted sleep times to allow players to sleep during the day. Only applies to
      * players in levels controlled by Better Days while sleep feature is enabled.
@@ -47,8 +96,7 @@ public class TimeServiceManager {
      * @param level current player level
      */
     public static boolean onDaySleepCheck(Level level) {
-        if (service != null
-                && service.level.get().equals(level)
+        if (get(level) != null
                 && ConfigHandler.Common.enableSleepFeature()
                 && ConfigHandler.Common.allowDaySleep()) {
 
@@ -68,7 +116,9 @@ public class TimeServiceManager {
      * @param level current player level
      */
     public static boolean onSleepingCheckEvent(Level level) {
-        if (service != null && service.level.get().equals(level)) {
+        TimeService service = get(level);
+
+        if (service != null) {
             Time time = service.getDayTime().timeOfDay();
             if (ConfigHandler.Common.enableSleepFeature()
                     && time.compareTo(VANILLA_SLEEP_END) >= 0) {
@@ -87,8 +137,12 @@ public class TimeServiceManager {
     public static void onWorldLoad(LevelAccessor level) {
         if (ServerLevelWrapper.isServerLevel(level)) {
             ServerLevelWrapper wrappedLevel = new ServerLevelWrapper(level);
-            if (wrappedLevel.get().equals(wrappedLevel.get().getServer().overworld())) {
-                service = new TimeService(wrappedLevel);
+            if (!ServerLevelWrapper.isDerived(level)) {
+                services.put(wrappedLevel.get().dimension(), new TimeService(wrappedLevel));
+            }
+
+            for (TimeService service : services.values()) {
+                service.updateObservedLevels(null);
             }
         }
     }
@@ -99,8 +153,14 @@ public class TimeServiceManager {
      * @param level current world level
      */
     public static void onWorldUnload(LevelAccessor level) {
-        if (service != null && service.level.get() == level) {
-            service = null;
+        TimeService service = get(level);
+
+        if (service != null) {
+            services.remove(service.level.get().dimension());
+        }
+
+        for (TimeService remaining : services.values()) {
+            remaining.updateObservedLevels(level);
         }
     }
 
@@ -110,8 +170,11 @@ public class TimeServiceManager {
      * @param level current world level
      */
     public static void onWorldTick(LevelAccessor level) {
-        if (service != null && service.level.get() == level) {
+        TimeService service = get(level);
+
+        if (service != null) {
             service.tick();
+            SleepNotificationAggregator.onLevelTick(service);
         }
     }
 
@@ -0,0 +1,159 @@
+package betterdays.time;
+
+import betterdays.config.ConfigHandler;
+import betterdays.utils.MathUtils;
+
+/**
+ * The time-speed configuration compiled into a form that can be evaluated every tick without
+ * reading config values or evaluating the sleep speed curve.
+ *
+ * <p>A schedule is made of two segments: day, from {@link #dayStart} to {@link #nightStart}, and
+ * night, from {@link #nightStart} to {@link #dayStart}. While players are sleeping, the speed is
+ * instead looked up from a table of sleep speeds indexed by the number of sleeping players.
+ *
+ * <p>Schedules are immutable. A new schedule is compiled as part of the common config snapshot
+ * whenever the config is loaded or reloaded; see {@link #get()}.
+ */
+public final class TimeSpeedSchedule {
+
+    /** True if the sleep feature is enabled. */
+    public final boolean sleepEnabled;
+    /** Time of day when the sun rises above the horizon. */
+    public final double dayStart;
+    /** Time of day when the sun sets below the horizon. */
+    public final double nightStart;
+    /** The speed at which time passes during the day. */
+    public final double daySpeed;
+    /** The speed at which time passes during the night. */
+    public final double nightSpeed;
+
+    private final double sleepSpeedMin;
+    private final double sleepSpeedMax;
+    private final double sleepSpeedAll;
+    private final double sleepSpeedCurve;
+
+    /**
+     * Creates a schedule from explicit values. The values have the same meaning as the config
+     * settings of the same names.
+     *
+     * @param sleepEnabled  true if the sleep feature is enabled
+     * @param dayStart  the time to start day
+     * @param nightStart  the time to start night
+     * @param daySpeed  the speed at which time passes during the day
+     * @param nightSpeed  the speed at which time passes during the night
+     * @param sleepSpeedMin  the sleep time-speed when only 1 player is sleeping in a full level
+     * @param sleepSpeedMax  the sleep time-speed when all players are sleeping
+     * @param sleepSpeedAll  the sleep time-speed when all players are sleeping, or -1 to use {@code sleepSpeedMax}
+     * @param sleepSpeedCurve  the curvature of the sleep time-speed interpolation
+     */
+    public TimeSpeedSchedule(boolean sleepEnabled, double dayStart, double nightStart, double daySpeed,
+            double nightSpeed, double sleepSpeedMin, double sleepSpeedMax, double sleepSpeedAll,
+            double sleepSpeedCurve) {
+        this.sleepEnabled = sleepEnabled;
+        this.dayStart = new Time(dayStart).timeOfDay().doubleValue();
+        this.nightStart = new Time(nightStart).timeOfDay().doubleValue();
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        this.sleepSpeedMin = sleepSpeedMin;
+        this.sleepSpeedMax = sleepSpeedMax;
+        this.sleepSpeedAll = sleepSpeedAll;
+        this.sleepSpeedCurve = sleepSpeedCurve;
+    }
+
+    /** {@return the schedule of the current common config snapshot} */
+    public static TimeSpeedSchedule get() {
+        return ConfigHandler.Common.timeSpeedSchedule();
+    }
+
+    /**
+     * {@return true if {@code timeOfDay} is during the day segment of this schedule}
+     * @param timeOfDay  the time-of-day to check
+     */
+    public boolean isDay(double timeOfDay) {
+        return timeOfDay == dayStart || Time.betweenMod(timeOfDay, dayStart, nightStart);
+    }
+
+    /**
+     * {@return the time-speed at {@code timeOfDay} while no players are sleeping}
+     * @param timeOfDay  the time-of-day at which to calculate the time-speed
+     */
+    public double baseSpeed(double timeOfDay) {
+        return isDay(timeOfDay) ? daySpeed : nightSpeed;
+    }
+
+    /**
+     * Calculates how much time passes in {@code ticks} ticks starting at {@code timeOfDay} while no
+     * players are sleeping. This is the closed form of advancing time one tick at a time with
+     * {@link #baseSpeed(double)}, where ticks that cross a breakpoint are split between the speeds
+     * on either side of it.
+     *
+     * <p>Whole day cycles are skipped in one step, so this method runs in constant time regardless
+     * of {@code ticks}.
+     *
+     * @param timeOfDay  the time-of-day to start at
+     * @param ticks  the number of ticks to advance
+     * @return the amount of time that elapses
+     */
+    public double integrate(double timeOfDay, double ticks) {
+        double dayLength = (nightStart - dayStart + Time.DAY_TICKS) % Time.DAY_TICKS;
+        double nightLength = Time.DAY_TICKS - dayLength;
+        double elapsed = 0;
+
+        if (daySpeed > 0 && nightSpeed > 0) {
+            double cycleTicks = dayLength / daySpeed + nightLength / nightSpeed;
+            double cycles = Math.floor(ticks / cycleTicks);
+
+            elapsed += cycles * Time.DAY_TICKS;
+            ticks -= cycles * cycleTicks;
+        }
+
+        while (ticks > 0) {
+            boolean day = isDay(timeOfDay);
+            double speed = day ? daySpeed : nightSpeed;
+            double breakpoint = day ? nightStart : dayStart;
+            double distance = (breakpoint - timeOfDay + Time.DAY_TICKS) % Time.DAY_TICKS;
+
+            if (speed <= 0) {
+                break;
+            }
+
+            double ticksUntilBreakpoint = distance / speed;
+
+            if (ticks < ticksUntilBreakpoint) {
+                elapsed += ticks * speed;
+                break;
+            }
+
+            elapsed += distance;
+            ticks -= ticksUntilBreakpoint;
+            timeOfDay = breakpoint;
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Builds the table of sleep time-speeds for a level with {@code activePlayers} active players.
+     * The value at index {@code n} is the time-speed while {@code n} players are sleeping.
+     *
+     * @param activePlayers  the number of active players
+     * @return the sleep time-speed table, of length {@code activePlayers + 1}
+     */
+    public double[] sleepSpeeds(int activePlayers) {
+        double[] speeds = new double[activePlayers + 1];
+
+        for (int sleeping = 1; sleeping <= activePlayers; sleeping++) {
+            double sleepRatio = (double) sleeping / (double) activePlayers;
+            double speedRatio = MathUtils.normalizedTunableSigmoid(sleepRatio, sleepSpeedCurve);
+
+            speeds[sleeping] = MathUtils.lerp(speedRatio, sleepSpeedMin, sleepSpeedMax);
+        }
+
+        if (activePlayers > 0 && sleepSpeedAll >= 0) {
+            speeds[activePlayers] = sleepSpeedAll;
+        }
+
+        return speeds;
+    }
+
+}
@@ -0,0 +1,97 @@
+package betterdays.time;
+
+/**
+ * Decides when a {@code TimeService} needs to send its time to clients.
+ *
+ * <p>Between time packets, clients advance their own time at a predictable rate. This class
+ * remembers what was last sent and only asks for a new packet when clients could no longer predict
+ * the server time on their own: when the time-speed or sleep state changes, when the predicted
+ * client time drifts too far from the server time, or when the keep-alive interval runs out.
+ */
+public class TimeSyncTracker {
+
+    /** The rate at which a vanilla client advances time between time packets. */
+    public static final double VANILLA_CLIENT_RATE = 1.0D;
+
+    private boolean synced;
+    private long sentGameTime;
+    private long sentDayTime;
+    private double sentSpeed;
+    private double sentClientRate;
+    private boolean sentSleeping;
+
+    private long packetsSent;
+    private long packetsSuppressed;
+
+    /**
+     * Returns true if the time should be sent to clients this tick.
+     *
+     * @param gameTime  the current game time of the level
+     * @param dayTime  the current day time of the level
+     * @param speed  the current time-speed
+     * @param sleeping  true if any players are sleeping
+     * @param clientRate  the rate at which clients advance time on their own
+     * @param interval  the largest number of ticks to go without sending the time
+     * @param maxDrift  the largest allowed difference between the predicted client time and
+     *                  {@code dayTime}
+     * @return true if the time should be sent
+     */
+    public boolean shouldSend(long gameTime, long dayTime, double speed, boolean sleeping,
+            double clientRate, int interval, double maxDrift) {
+        if (!synced || sleeping != sentSleeping || speed != sentSpeed || clientRate != sentClientRate) {
+            return true;
+        }
+
+        long elapsed = gameTime - sentGameTime;
+        if (elapsed < 0 || elapsed >= interval) {
+            return true;
+        }
+
+        double predicted = sentDayTime + elapsed * sentClientRate;
+        return Math.abs(dayTime - predicted) > maxDrift;
+    }
+
+    /**
+     * Records that the time was sent to clients.
+     *
+     * @param gameTime  the game time that was sent
+     * @param dayTime  the day time that was sent
+     * @param speed  the time-speed when the time was sent
+     * @param sleeping  true if any players were sleeping when the time was sent
+     * @param clientRate  the rate at which clients advance time on their own
+     */
+    public void onSent(long gameTime, long dayTime, double speed, boolean sleeping, double clientRate) {
+        this.synced = true;
+        this.sentGameTime = gameTime;
+        this.sentDayTime = dayTime;
+        this.sentSpeed = speed;
+        this.sentSleeping = sleeping;
+        this.sentClientRate = clientRate;
+        this.packetsSent++;
+    }
+
+    /**
+     * Records that sending the time was skipped because clients could predict it.
+     */
+    public void onSuppressed() {
+        this.packetsSuppressed++;
+    }
+
+    /**
+     * Forgets the last sent time so that the next call to {@link #shouldSend} returns true.
+     */
+    public void invalidate() {
+        this.synced = false;
+    }
+
+    /** {@return the number of time broadcasts that were sent} */
+    public long packetsSent() {
+        return packetsSent;
+    }
+
+    /** {@return the number of time broadcasts that were skipped} */
+    public long packetsSuppressed() {
+        return packetsSuppressed;
+    }
+
+}
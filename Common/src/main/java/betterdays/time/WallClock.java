@@ -0,0 +1,77 @@
+package betterdays.time;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Measures elapsed real time in ticks, so that time can pass at the rate configured for a server
+ * running at 20 ticks per second even when the server runs slower.
+ *
+ * <p>Each call to {@link #advance(double)} adds the real time elapsed since the previous call to a
+ * debt of ticks and pays off as much of it as allowed. Ticks that cannot be paid off right away, for
+ * example after a long garbage collection pause, carry over to later calls so that time catches up
+ * gradually rather than jumping. The debt is capped at {@link #MAX_DEBT_TICKS}, so a server that stops
+ * ticking for a long time does not spend the following minutes catching up.
+ */
+public class WallClock {
+
+    /** The length of a tick at the vanilla rate of 20 ticks per second, in nanoseconds. */
+    public static final long NANOS_PER_TICK = 50_000_000L;
+    /** The largest number of ticks of real time that may be owed. */
+    public static final double MAX_DEBT_TICKS = 1200D;
+
+    private final LongSupplier nanoTime;
+
+    private boolean started;
+    private long lastNanos;
+    private double debt;
+
+    /** Creates a new instance that measures time with {@link System#nanoTime()}. */
+    public WallClock() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param nanoTime  the monotonic clock to measure time with, in nanoseconds
+     */
+    public WallClock(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns the number of ticks of real time to pass this tick. The first call after creation or
+     * {@link #reset()} returns exactly one tick.
+     *
+     * @param maxTicks  the largest number of ticks to return
+     * @return the number of ticks of real time to pass, between 0 and {@code maxTicks}
+     */
+    public double advance(double maxTicks) {
+        long now = nanoTime.getAsLong();
+
+        if (!started) {
+            started = true;
+            lastNanos = now;
+            return Math.min(1D, maxTicks);
+        }
+
+        debt = Math.min(debt + (double) (now - lastNanos) / NANOS_PER_TICK, MAX_DEBT_TICKS);
+        lastNanos = now;
+
+        double ticks = Math.min(debt, maxTicks);
+        debt -= ticks;
+
+        return ticks;
+    }
+
+    /** Forgets all elapsed time, so that the next tick passes exactly one tick of time. */
+    public void reset() {
+        started = false;
+        debt = 0;
+    }
+
+    /** {@return the number of ticks of real time currently owed} */
+    public double debt() {
+        return debt;
+    }
+
+}
@@ -0,0 +1,15 @@
+package betterdays.time.effects;
+
+/**
+ * Block entity effect setting that controls which block entities are accelerated.
+ */
+public enum BlockEntityScope {
+
+    /** Accelerate all ticking block entities in the level. */
+    LEVEL,
+    /** Only accelerate block entities near sleeping players. */
+    SLEEPING_PLAYERS,
+    /** Only accelerate block entities near active (not spectating) players. */
+    ACTIVE_PLAYERS
+
+}
@@ -0,0 +1,149 @@
+package betterdays.time.effects;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads the extra block entity ticks owed to a level across server ticks so that accelerating
+ * block entities never takes more than a fixed amount of time per tick.
+ *
+ * <p>Each tick, the extra ticks owed for that tick are added to a debt, and passes over the block
+ * entities are made until the debt is paid or the time budget runs out. The budget is checked after
+ * every {@link #BATCH_SIZE} block entities, so a pass can stop partway through and resume from the
+ * same block entity on the next tick. Unpaid ticks carry over to the next tick, up to a maximum debt.
+ * The debt, and any pass in progress, is forgotten once acceleration stops for a tick.
+ */
+public class BlockEntityTickScheduler {
+
+    /** The number of block entities ticked between checks of the time budget. */
+    public static final int BATCH_SIZE = 16;
+
+    private final LongSupplier nanoTime;
+
+    private long debt;
+    private long lastGameTime = Long.MIN_VALUE;
+    // The index of the next block entity to tick in the pass in progress
+    private int cursor;
+
+    private long requestedTicks;
+    private long achievedTicks;
+
+    /** Creates a new instance that measures time with {@link System#nanoTime()}. */
+    public BlockEntityTickScheduler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param nanoTime  the monotonic clock to measure the time budget with, in nanoseconds
+     */
+    public BlockEntityTickScheduler(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Adds {@code owedTicks} to the debt of this scheduler and pays off as much of it as the time
+     * budget allows. At least one batch of block entities is ticked on every call.
+     *
+     * @param gameTime  the current game time of the level
+     * @param owedTicks  the number of extra ticks owed for this tick
+     * @param budgetNanos  the time budget for this tick in nanoseconds, or 0 for no budget
+     * @param maxDebt  the largest number of ticks to carry over to later ticks
+     * @param pass  the block entities to tick
+     * @return the number of complete passes over the block entities
+     */
+    public long run(long gameTime, long owedTicks, long budgetNanos, long maxDebt, Pass pass) {
+        if (gameTime != lastGameTime + 1) {
+            debt = 0;
+            cursor = 0;
+        }
+
+        lastGameTime = gameTime;
+        requestedTicks += owedTicks;
+        debt += owedTicks;
+
+        int size = pass.size();
+        long ticked = 0;
+
+        if (size == 0) {
+            // There is nothing to tick, so every pass completes immediately
+            ticked = debt;
+            cursor = 0;
+        } else {
+            long start = nanoTime.getAsLong();
+
+            if (cursor >= size) {
+                cursor = 0;
+            }
+
+            while (ticked < debt) {
+                int end = Math.min(cursor + BATCH_SIZE, size);
+
+                for (int i = cursor; i < end; i++) {
+                    pass.tick(i);
+                }
+
+                cursor = end;
+
+                if (cursor == size) {
+                    cursor = 0;
+                    ticked++;
+                }
+
+                if (budgetNanos > 0 && nanoTime.getAsLong() - start >= budgetNanos) {
+                    break;
+                }
+            }
+        }
+
+        achievedTicks += ticked;
+        debt = Math.min(debt - ticked, maxDebt);
+
+        if (debt == 0) {
+            cursor = 0;
+        }
+
+        return ticked;
+    }
+
+    /** {@return the number of extra ticks currently owed} */
+    public long debt() {
+        return debt;
+    }
+
+    /** {@return the index of the next block entity to tick, or 0 if no pass is in progress} */
+    public int cursor() {
+        return cursor;
+    }
+
+    /** {@return the total number of extra ticks requested} */
+    public long requestedTicks() {
+        return requestedTicks;
+    }
+
+    /** {@return the total number of extra ticks performed} */
+    public long achievedTicks() {
+        return achievedTicks;
+    }
+
+    /**
+     * {@return the ratio of extra ticks performed to extra ticks requested, between 0.0 and 1.0}
+     */
+    public double achievedRatio() {
+        return requestedTicks == 0 ? 1.0D : (double) achievedTicks / (double) requestedTicks;
+    }
+
+    /** The block entities that one extra tick passes over, in a stable order. */
+    public interface Pass {
+
+        /** {@return the number of block entities in a pass} */
+        int size();
+
+        /**
+         * Ticks the block entity at {@code index} once.
+         * @param index  the index of the block entity, between 0 and {@link #size()}
+         */
+        void tick(int index);
+
+    }
+
+}
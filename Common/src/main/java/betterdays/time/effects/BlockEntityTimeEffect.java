@@ -21,31 +21,141 @@
 
 package betterdays.time.effects;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+
 import betterdays.config.ConfigHandler;
-import betterdays.time.SleepStatus;
 import betterdays.time.TimeContext;
+import betterdays.time.TimeService;
+import betterdays.wrappers.ServerLevelWrapper;
 
 /**
  * Represents a {@code TimeEffect} that progresses block entities to match the rate of the current
  * time-speed.
+ *
+ * <p>Extra ticks are paid through a {@link BlockEntityTickScheduler} for each level so that the time
+ * spent on them stays within the configured budget. Depending on the {@link BlockEntityScope}, either
+ * all block entities in the level are accelerated or only those near players.
+ *
+ * <p>Time effects only run on the server thread, so the collections used to gather players and
+ * tickers are kept and reused from tick to tick rather than allocated each time.
  */
 public class BlockEntityTimeEffect extends AbstractTimeEffect {
 
+    private final Map<TimeService, BlockEntityTickScheduler> schedulers = new WeakHashMap<>();
+
+    private final List<ServerPlayer> players = new ArrayList<>();
+    private final List<TickingBlockEntity> tickers = new ArrayList<>();
+    private final LongSet visitedChunks = new LongOpenHashSet();
+    private final BlockEntityTick tick = new BlockEntityTick();
+
     @Override
     public void onTimeTick(TimeContext context) {
-        EffectCondition condition = ConfigHandler.Common.blockEntityEffect();
-        long extraTicks = context.getTimeDelta().longValue() - 1;
-        SleepStatus sleepStatus = context.getTimeService().sleepStatus;
+        long extraTicks = context.getTimeDeltaTicks() - 1;
 
-        if (extraTicks <= 0
-                || condition == EffectCondition.NEVER
-                || (condition == EffectCondition.SLEEPING && sleepStatus.allAwake())) {
+        if (extraTicks <= 0) {
             return;
         }
 
-        for (int i = 0; i < extraTicks; i++) {
-            context.getLevel().tickBlockEntities();
+        ServerLevelWrapper level = context.getLevel();
+        BlockEntityScope scope = ConfigHandler.Common.blockEntityScope();
+
+        if (scope == BlockEntityScope.LEVEL) {
+            tick.set(level, level.getBlockEntityTickers());
+        } else {
+            collectPlayers(level.get().players(), scope);
+            level.collectBlockEntityTickersNear(players, ConfigHandler.Common.blockEntityRadius(),
+                    BlockEntityTypeFilter.get(), tickers, visitedChunks);
+
+            context.addPlayersTouched(players.size());
+            players.clear();
+
+            if (tickers.isEmpty()) {
+                return;
+            }
+
+            tick.set(level, tickers);
+        }
+
+        long budgetNanos = ConfigHandler.Common.blockEntityTickBudgetNanos();
+
+        try {
+            schedulers.computeIfAbsent(context.getTimeService(), service -> new BlockEntityTickScheduler())
+                    .run(level.get().getGameTime(), extraTicks, budgetNanos,
+                            ConfigHandler.Common.blockEntityMaxDebt(), tick);
+        } finally {
+            // Do not hold on to the level or its tickers between ticks
+            tick.set(null, null);
+            tickers.clear();
+        }
+    }
+
+    private void collectPlayers(List<ServerPlayer> levelPlayers, BlockEntityScope scope) {
+        players.clear();
+
+        for (int i = 0; i < levelPlayers.size(); i++) {
+            ServerPlayer player = levelPlayers.get(i);
+
+            if (scope == BlockEntityScope.SLEEPING_PLAYERS ? player.isSleeping() : !player.isSpectator()) {
+                players.add(player);
+            }
+        }
+    }
+
+    @Override
+    public EffectCondition getCondition() {
+        return ConfigHandler.Common.blockEntityEffect();
+    }
+
+    @Override
+    public int getPriority() {
+        return 500;
+    }
+
+    /**
+     * {@return the scheduler that accelerates block entities in the level of {@code timeService},
+     * or null if block entities have not been accelerated in that level}
+     * @param timeService  the {@code TimeService} of the level
+     */
+    public @Nullable BlockEntityTickScheduler getScheduler(TimeService timeService) {
+        return schedulers.get(timeService);
+    }
+
+    /**
+     * A pass over a list of block entity tickers of a level, without a capturing lambda. For the
+     * {@code LEVEL} scope the list is the level's own ticker list, which keeps its order between
+     * ticks, so a pass that runs out of budget resumes where it stopped.
+     */
+    private static final class BlockEntityTick implements BlockEntityTickScheduler.Pass {
+
+        private @Nullable ServerLevelWrapper level;
+        private @Nullable List<TickingBlockEntity> tickers;
+
+        void set(@Nullable ServerLevelWrapper level, @Nullable List<TickingBlockEntity> tickers) {
+            this.level = level;
+            this.tickers = tickers;
         }
+
+        @Override
+        public int size() {
+            return tickers.size();
+        }
+
+        @Override
+        public void tick(int index) {
+            level.tickBlockEntity(tickers.get(index));
+        }
+
     }
 
 }
@@ -0,0 +1,80 @@
+package betterdays.time.effects;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+
+import betterdays.BetterDays;
+import betterdays.config.ConfigHandler;
+
+/**
+ * The block entity allow and deny lists resolved to a set of block entity type registry IDs, so
+ * that checking a type does not need a registry lookup.
+ *
+ * <p>Filters are resolved as part of the common config snapshot. Since block entity types can be
+ * registered by any mod until a server starts, the snapshot holds {@link #NONE} until then.
+ */
+public final class BlockEntityTypeFilter implements Predicate<BlockEntityType<?>> {
+
+    /** A filter that allows no block entity types, for before the registry is complete. */
+    public static final BlockEntityTypeFilter NONE = new BlockEntityTypeFilter(false);
+
+    private final BitSet denied = new BitSet();
+    private final BitSet allowed = new BitSet();
+    private final boolean allowAll;
+
+    private BlockEntityTypeFilter(boolean allowAll) {
+        this.allowAll = allowAll;
+    }
+
+    /**
+     * Resolves the block entity allow and deny lists against the block entity type registry. Unknown
+     * types are logged and left out.
+     *
+     * @param allowList  the IDs of the block entity types to allow, or an empty list to allow all
+     * @param denyList  the IDs of the block entity types to deny
+     * @return the resolved filter
+     */
+    public static BlockEntityTypeFilter resolve(List<? extends String> allowList, List<? extends String> denyList) {
+        BlockEntityTypeFilter filter = new BlockEntityTypeFilter(allowList.isEmpty());
+        resolve(allowList, filter.allowed);
+        resolve(denyList, filter.denied);
+
+        return filter;
+    }
+
+    /** {@return the filter of the current common config snapshot} */
+    public static BlockEntityTypeFilter get() {
+        return ConfigHandler.Common.blockEntityTypeFilter();
+    }
+
+    /**
+     * {@return true if block entities of {@code type} may be accelerated}
+     * @param type  the block entity type to check
+     */
+    @Override
+    public boolean test(BlockEntityType<?> type) {
+        int id = BuiltInRegistries.BLOCK_ENTITY_TYPE.getId(type);
+
+        return !denied.get(id) && (allowAll || allowed.get(id));
+    }
+
+    private static void resolve(List<? extends String> keys, BitSet ids) {
+        for (String key : keys) {
+            ResourceLocation location = ResourceLocation.tryParse(key);
+
+            if (location == null || !BuiltInRegistries.BLOCK_ENTITY_TYPE.containsKey(location)) {
+                BetterDays.LOGGER.warn("Unknown block entity type in config: {}", key);
+                continue;
+            }
+
+            BlockEntityType<?> type = BuiltInRegistries.BLOCK_ENTITY_TYPE.getValue(location);
+            ids.set(BuiltInRegistries.BLOCK_ENTITY_TYPE.getId(type));
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package betterdays.time.effects;
+
+/**
+ * Implemented by mob effect instances to keep track of the duration last sent to the client of the
+ * entity they are applied to, in the whole seconds that the client displays.
+ */
+public interface EffectSyncedInstance {
+
+    /** {@return the displayed seconds last sent for this effect, or -1 if none were sent} */
+    int betterdays$getSyncedSecond();
+
+    /**
+     * Sets the displayed seconds last sent for this effect.
+     *
+     * @param second  the remaining duration sent, in whole seconds
+     */
+    void betterdays$setSyncedSecond(int second);
+
+}
@@ -0,0 +1,19 @@
+package betterdays.time.effects;
+
+/**
+ * Implemented by server players to keep track of when the durations of their effects were last
+ * sent to their client.
+ */
+public interface EffectSyncedPlayer {
+
+    /** {@return the server tick on which this player's client was last sent their effects} */
+    long betterdays$getEffectSyncTick();
+
+    /**
+     * Sets the server tick on which this player's client was last sent their effects.
+     *
+     * @param tick  the server tick count
+     */
+    void betterdays$setEffectSyncTick(long tick);
+
+}
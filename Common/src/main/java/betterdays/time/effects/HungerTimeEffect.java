@@ -21,10 +21,11 @@
 
 package betterdays.time.effects;
 
-import java.util.stream.Stream;
+import java.util.List;
+
+import net.minecraft.server.level.ServerPlayer;
 
 import betterdays.config.ConfigHandler;
-import betterdays.time.SleepStatus;
 import betterdays.time.TimeContext;
 import betterdays.wrappers.ServerLevelWrapper;
 import betterdays.wrappers.ServerPlayerWrapper;
@@ -34,35 +35,39 @@ public class HungerTimeEffect extends AbstractTimeEffect {
 
     @Override
     public void onTimeTick(TimeContext context) {
-        EffectCondition condition = ConfigHandler.Common.hungerEffect();
+        long extraTicks = context.getTimeDeltaTicks() - 1;
 
-        if (condition == EffectCondition.NEVER) {
+        if (extraTicks <= 0) {
             return;
         }
 
         ServerLevelWrapper level = context.getLevel();
-        SleepStatus sleepStatus = context.getTimeService().sleepStatus;
-        long extraTicks = context.getTimeDelta().longValue() - 1;
+        boolean sleepingOnly = getCondition() == EffectCondition.SLEEPING;
+        int touched = 0;
 
-        if (extraTicks <= 0 || (condition == EffectCondition.SLEEPING && sleepStatus.allAwake())) {
-            return;
-        }
+        List<ServerPlayer> players = level.get().players();
 
-        Stream<ServerPlayerWrapper> playerStream = level.get().players().stream()
-                .map(ServerPlayerWrapper::new);
+        // Indexed loop and static food helper so that no iterator or wrapper is allocated per tick
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayer player = players.get(i);
 
-        if (condition == EffectCondition.SLEEPING) {
-            playerStream = playerStream.filter(ServerPlayerWrapper::isSleeping);
+            if (!sleepingOnly || player.isSleeping()) {
+                ServerPlayerWrapper.tickFood(player, extraTicks);
+                touched++;
+            }
         }
 
-        playerStream.forEach(player -> tickHunger(player, extraTicks));
+        context.addPlayersTouched(touched);
     }
 
-    /** Ticks {@code player} hunger {@code ticks} times. */
-    private static void tickHunger(ServerPlayerWrapper player, long ticks) {
-        for (int i = 0; i < ticks; i++) {
-            player.get().getFoodData().tick(player.get());
-        }
+    @Override
+    public EffectCondition getCondition() {
+        return ConfigHandler.Common.hungerEffect();
+    }
+
+    @Override
+    public int getPriority() {
+        return 400;
     }
 
 }
@@ -21,10 +21,11 @@
 
 package betterdays.time.effects;
 
-import java.util.stream.Stream;
+import java.util.List;
+
+import net.minecraft.server.level.ServerPlayer;
 
 import betterdays.config.ConfigHandler;
-import betterdays.time.SleepStatus;
 import betterdays.time.TimeContext;
 import betterdays.wrappers.ServerLevelWrapper;
 import betterdays.wrappers.ServerPlayerWrapper;
@@ -32,38 +33,61 @@ import betterdays.wrappers.ServerPlayerWrapper;
 /** Time effect that progresses potion effects at the same rate as the speed of time. */
 public class PotionTimeEffect extends AbstractTimeEffect {
 
+    // The number of server ticks between updates of a player's effect durations, so about a second
+    private static final long SYNC_INTERVAL_TICKS = 20;
+
     @Override
     public void onTimeTick(TimeContext context) {
-        EffectCondition condition = ConfigHandler.Common.potionEffect();
+        long extraTicks = context.getTimeDeltaTicks() - 1;
 
-        if (condition == EffectCondition.NEVER) {
+        if (extraTicks <= 0) {
             return;
         }
 
         ServerLevelWrapper level = context.getLevel();
-        SleepStatus sleepStatus = context.getTimeService().sleepStatus;
-        long extraTicks = context.getTimeDelta().longValue() - 1;
+        boolean sleepingOnly = getCondition() == EffectCondition.SLEEPING;
+        long serverTick = level.get().getServer().getTickCount();
+        int touched = 0;
 
-        if (extraTicks <= 0 || (condition == EffectCondition.SLEEPING && sleepStatus.allAwake())) {
-            return;
-        }
+        List<ServerPlayer> players = level.get().players();
 
-        Stream<ServerPlayerWrapper> playerStream = level.get().players().stream()
-                .map(ServerPlayerWrapper::new);
+        // Indexed loop and static effect helpers so that no iterator or wrapper is allocated per tick
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayer player = players.get(i);
 
-        if (condition == EffectCondition.SLEEPING) {
-            playerStream = playerStream.filter(ServerPlayerWrapper::isSleeping);
+            if (!sleepingOnly || player.isSleeping()) {
+                tickEffects(player, extraTicks, serverTick);
+                touched++;
+            }
         }
 
-        playerStream.forEach(player -> tickEffects(player, extraTicks));
+        context.addPlayersTouched(touched);
+    }
+
+    @Override
+    public EffectCondition getCondition() {
+        return ConfigHandler.Common.potionEffect();
+    }
+
+    @Override
+    public int getPriority() {
+        return 300;
     }
 
-    /** Ticks all effects on {@code player} {@code ticks} times, then sends client update. */
-    private static void tickEffects(ServerPlayerWrapper player, long ticks) {
-        for (int i = 0; i < ticks; i++) {
-            player.tickEffects();
+    /**
+     * Ticks all effects on {@code player} {@code ticks} times. The client is sent the effects whose
+     * displayed durations changed at most once every {@value #SYNC_INTERVAL_TICKS} server ticks, however
+     * fast time passes.
+     */
+    private static void tickEffects(ServerPlayer player, long ticks, long serverTick) {
+        ServerPlayerWrapper.tickEffects(player, ticks);
+
+        EffectSyncedPlayer synced = (EffectSyncedPlayer) player;
+
+        if (serverTick - synced.betterdays$getEffectSyncTick() >= SYNC_INTERVAL_TICKS) {
+            ServerPlayerWrapper.sendMobEffectUpdatePackets(player);
+            synced.betterdays$setEffectSyncTick(serverTick);
         }
-        player.sendMobEffectUpdatePackets();
     }
 
 }
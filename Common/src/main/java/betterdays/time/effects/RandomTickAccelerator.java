@@ -0,0 +1,257 @@
+package betterdays.time.effects;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.material.FluidState;
+
+import betterdays.mixin.accessor.ServerLevelAccessor;
+import betterdays.time.TimeService;
+import betterdays.time.TimeServiceManager;
+import betterdays.utils.MathUtils;
+
+/**
+ * Adds extra random ticks to chunks as they are ticked, in proportion to the current speed of
+ * time, without touching the 'random tick speed' game rule.
+ *
+ * <p>The {@link RandomTickSleepEffect} arms the accelerator of a {@code TimeService} at the start of
+ * each server tick. While armed, every chunk ticked in a level that observes the time of that
+ * {@code TimeService} receives {@code randomTickSpeed * multiplier} extra random ticks in each section
+ * that contains randomly ticking blocks. Chunks also receive the matching number of extra snow and ice
+ * ticks, unless precipitation is turned off. The time budget applies to each level separately and
+ * only counts the time spent on extra ticks. Once a level has used up its budget, its remaining
+ * chunks receive no extra ticks until the next tick.
+ *
+ * <p>In {@link RandomTickMode#STATISTICAL} mode, extra ticks are not placed one by one. Instead, the
+ * number of extra ticks that land on each randomly ticking position of a section is sampled from a
+ * binomial distribution, so sections without randomly ticking blocks cost nothing and the cost of a
+ * section does not grow with the number of extra ticks.
+ */
+public class RandomTickAccelerator {
+
+    private static final Map<TimeService, RandomTickAccelerator> accelerators = new WeakHashMap<>();
+
+    // The chance that a random tick in a section lands on any one position
+    private static final double POSITION_CHANCE = 1D / 4096D;
+    // The chance that a random tick in a chunk also ticks snow and ice, as in ServerLevel.tickChunk
+    private static final double PRECIPITATION_CHANCE = 1D / 48D;
+
+    private int armedTick = -1;
+    private double multiplier;
+    private RandomTickMode mode = RandomTickMode.EXACT;
+    private boolean precipitation;
+    private long budgetNanos;
+
+    // The level whose chunks are being ticked, and the time spent on its extra ticks this tick
+    private @Nullable ServerLevel budgetLevel;
+    private long spentNanos;
+
+    private long requestedTicks;
+    private long achievedTicks;
+
+    /**
+     * {@return the accelerator for the levels that observe the time of {@code timeService}}
+     * @param timeService  the {@code TimeService} to get the accelerator for
+     */
+    public static RandomTickAccelerator get(TimeService timeService) {
+        return accelerators.computeIfAbsent(timeService, service -> new RandomTickAccelerator());
+    }
+
+    /**
+     * Event listener that is called after vanilla has ticked a chunk.
+     *
+     * @param level  the level of the chunk
+     * @param chunk  the chunk that was ticked
+     * @param randomTickSpeed  the random tick speed used for the chunk
+     */
+    public static void onTickChunk(ServerLevel level, LevelChunk chunk, int randomTickSpeed) {
+        if (randomTickSpeed <= 0 || accelerators.isEmpty()) {
+            return;
+        }
+
+        TimeService service = TimeServiceManager.getObservedBy(level);
+        RandomTickAccelerator accelerator = service != null ? accelerators.get(service) : null;
+
+        if (accelerator != null && accelerator.armedTick == level.getServer().getTickCount()) {
+            accelerator.tickChunk(level, chunk, randomTickSpeed);
+        }
+    }
+
+    /**
+     * Arms this accelerator for the current server tick.
+     *
+     * @param serverTick  the tick count of the server
+     * @param multiplier  the number of extra random ticks to perform for each vanilla random tick
+     * @param budgetNanos  the time budget for this tick in nanoseconds, or 0 for no budget
+     * @param mode  how to perform the extra random ticks
+     * @param precipitation  true to also perform extra snow and ice ticks
+     */
+    public void arm(int serverTick, double multiplier, long budgetNanos, RandomTickMode mode,
+            boolean precipitation) {
+        this.armedTick = multiplier > 0 ? serverTick : -1;
+        this.multiplier = multiplier;
+        this.mode = mode;
+        this.precipitation = precipitation;
+        this.budgetNanos = budgetNanos;
+        this.budgetLevel = null;
+        this.spentNanos = 0;
+    }
+
+    /** {@return the total number of extra random ticks requested} */
+    public long requestedTicks() {
+        return requestedTicks;
+    }
+
+    /** {@return the total number of extra random ticks performed} */
+    public long achievedTicks() {
+        return achievedTicks;
+    }
+
+    private void tickChunk(ServerLevel level, LevelChunk chunk, int randomTickSpeed) {
+        if (level != budgetLevel) {
+            budgetLevel = level;
+            spentNanos = 0;
+        }
+
+        boolean budgeted = budgetNanos > 0;
+        long start = System.nanoTime();
+        RandomSource random = level.random;
+        ChunkPos chunkPos = chunk.getPos();
+        int minX = chunkPos.getMinBlockX();
+        int minZ = chunkPos.getMinBlockZ();
+        double extraTicks = randomTickSpeed * multiplier;
+        int wholeTicks = (int) extraTicks;
+        double partialTicks = extraTicks - wholeTicks;
+        LevelChunkSection[] sections = chunk.getSections();
+        boolean exhausted = budgeted && spentNanos >= budgetNanos;
+
+        if (precipitation && !exhausted) {
+            int ticks = wholeTicks + (random.nextDouble() < partialTicks ? 1 : 0);
+            tickPrecipitation(level, minX, minZ, ticks);
+        }
+
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+
+            if (!section.isRandomlyTicking()) {
+                continue;
+            }
+
+            int ticks = wholeTicks + (random.nextDouble() < partialTicks ? 1 : 0);
+            requestedTicks += ticks;
+
+            if (exhausted || budgeted && spentNanos + System.nanoTime() - start >= budgetNanos) {
+                // Keep counting the ticks this chunk was owed, but do not perform them
+                exhausted = true;
+                continue;
+            }
+
+            int minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+
+            if (mode == RandomTickMode.STATISTICAL) {
+                sampleSection(level, section, minX, minY, minZ, ticks);
+            } else {
+                tickSection(level, section, minX, minY, minZ, ticks);
+            }
+
+            achievedTicks += ticks;
+        }
+
+        spentNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Performs the snow and ice ticks that {@code ticks} extra random ticks of a chunk would bring,
+     * as {@code ServerLevel.tickChunk} does for each random tick.
+     */
+    private void tickPrecipitation(ServerLevel level, int minX, int minZ, int ticks) {
+        RandomSource random = level.random;
+        int precipitationTicks;
+
+        if (mode == RandomTickMode.STATISTICAL) {
+            precipitationTicks = MathUtils.binomialQuantile(random.nextDouble(), ticks, PRECIPITATION_CHANCE);
+        } else {
+            precipitationTicks = 0;
+
+            for (int i = 0; i < ticks; i++) {
+                if (random.nextInt(48) == 0) {
+                    precipitationTicks++;
+                }
+            }
+        }
+
+        for (int i = 0; i < precipitationTicks; i++) {
+            ((ServerLevelAccessor) level).betterdays$tickPrecipitation(level.getBlockRandomPos(minX, 0, minZ, 15));
+        }
+    }
+
+    /** Performs {@code ticks} random ticks at random positions in {@code section}, as vanilla does. */
+    private static void tickSection(ServerLevel level, LevelChunkSection section, int minX, int minY, int minZ,
+            int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            BlockPos pos = level.getBlockRandomPos(minX, minY, minZ, 15);
+            BlockState state = section.getBlockState(pos.getX() - minX, pos.getY() - minY, pos.getZ() - minZ);
+
+            if (state.isRandomlyTicking()) {
+                state.randomTick(level, pos, level.random);
+            }
+
+            FluidState fluidState = state.getFluidState();
+
+            if (fluidState.isRandomlyTicking()) {
+                fluidState.randomTick(level, pos, level.random);
+            }
+        }
+    }
+
+    /**
+     * Samples how many of {@code ticks} random ticks in {@code section} land on each of its randomly
+     * ticking positions, then performs that many random ticks at each position.
+     */
+    private static void sampleSection(ServerLevel level, LevelChunkSection section, int minX, int minY, int minZ,
+            int ticks) {
+        RandomSource random = level.random;
+
+        for (short packed : ((RandomTickingSection) section).betterdays$getRandomTickingPositions()) {
+            int hits = MathUtils.binomialQuantile(random.nextDouble(), ticks, POSITION_CHANCE);
+
+            if (hits == 0) {
+                continue;
+            }
+
+            int x = packed & 15;
+            int z = packed >> 4 & 15;
+            int y = packed >> 8 & 15;
+            BlockPos pos = new BlockPos(minX + x, minY + y, minZ + z);
+
+            for (int hit = 0; hit < hits; hit++) {
+                // Earlier random ticks may have changed the block at this position
+                BlockState state = section.getBlockState(x, y, z);
+                FluidState fluidState = state.getFluidState();
+
+                if (!state.isRandomlyTicking() && !fluidState.isRandomlyTicking()) {
+                    break;
+                }
+
+                if (state.isRandomlyTicking()) {
+                    state.randomTick(level, pos, random);
+                }
+
+                if (fluidState.isRandomlyTicking()) {
+                    fluidState.randomTick(level, pos, random);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package betterdays.time.effects;
+
+/**
+ * Random tick effect setting that controls how extra random ticks are performed.
+ */
+public enum RandomTickMode {
+
+    /** Perform each extra random tick at a random position, as vanilla does. */
+    EXACT,
+    /**
+     * Sample how many of the extra random ticks land on each randomly ticking block, so that the
+     * cost depends on the number of such blocks rather than the number of extra ticks.
+     */
+    STATISTICAL
+
+}
@@ -22,41 +22,40 @@
 package betterdays.time.effects;
 
 import betterdays.config.ConfigHandler;
-import betterdays.time.SleepStatus;
 import betterdays.time.TimeContext;
 
-import static betterdays.time.effects.EffectCondition.ALWAYS;
-import static betterdays.time.effects.EffectCondition.SLEEPING;
-
 /**
- * Time effect that increases the random tick speed while players are sleeping, proportionate to
- * the current speed of time.
+ * Time effect that adds extra random ticks while players are sleeping, proportionate to the current
+ * speed of time. The extra ticks are performed by a {@link RandomTickAccelerator}.
  */
 public class RandomTickSleepEffect extends AbstractTimeEffect {
 
     @Override
     public void onTimeTick(TimeContext context) {
-        updateRandomTickSpeed(context);
+        armRandomTicks(context);
+    }
+
+    @Override
+    public EffectCondition getCondition() {
+        return ConfigHandler.Common.randomTickEffect();
+    }
+
+    @Override
+    public int getPriority() {
+        return 200;
     }
 
     /**
-     * Updates the random tick speed based on configuration values.
+     * Arms the random tick accelerator for this tick based on configuration values.
      * @param context  the {@link TimeContext} of the current tick
      */
-    private void updateRandomTickSpeed(TimeContext context) {
-        EffectCondition condition = ConfigHandler.Common.randomTickEffect();
-
-        if (condition == EffectCondition.NEVER) {
-            return;
-        }
-
-        int speed = ConfigHandler.Common.baseRandomTickSpeed();
-        SleepStatus sleepStatus = context.getTimeService().sleepStatus;
-        if (condition == ALWAYS || (condition == SLEEPING && !sleepStatus.allAwake())) {
-            speed *= context.getTimeDelta().longValue();
-        }
+    private void armRandomTicks(TimeContext context) {
+        long extraTicks = context.getTimeDeltaTicks() - 1;
+        long budgetNanos = ConfigHandler.Common.randomTickBudgetNanos();
+        int serverTick = context.getLevel().get().getServer().getTickCount();
 
-        context.getLevel().setRandomTickSpeed(speed);
+        RandomTickAccelerator.get(context.getTimeService()).arm(serverTick, extraTicks, budgetNanos,
+                ConfigHandler.Common.randomTickMode(), ConfigHandler.Common.randomTickPrecipitation());
     }
 
 }
@@ -0,0 +1,15 @@
+package betterdays.time.effects;
+
+/**
+ * Implemented by chunk sections to keep track of which of their positions hold blocks or fluids
+ * that tick randomly.
+ */
+public interface RandomTickingSection {
+
+    /**
+     * {@return the positions in this section that hold randomly ticking blocks or fluids} Each
+     * position is packed as {@code y << 8 | z << 4 | x}, relative to the section.
+     */
+    short[] betterdays$getRandomTickingPositions();
+
+}
@@ -42,4 +42,20 @@ public interface TimeEffect {
      */
     public void onTimeTick(TimeContext context);
 
+    /**
+     * {@return the condition under which this effect applies} Effects are only ticked while their
+     * condition can be met. Defaults to {@link EffectCondition#ALWAYS}.
+     */
+    public default EffectCondition getCondition() {
+        return EffectCondition.ALWAYS;
+    }
+
+    /**
+     * {@return the priority of this effect} Effects with a lower priority run before effects with a
+     * higher priority. Defaults to 0.
+     */
+    public default int getPriority() {
+        return 0;
+    }
+
 }
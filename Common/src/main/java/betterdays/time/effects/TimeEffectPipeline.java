@@ -0,0 +1,98 @@
+package betterdays.time.effects;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import betterdays.config.ConfigHandler;
+import betterdays.registry.RegistryObject;
+import betterdays.registry.TimeEffectsRegistry;
+
+/**
+ * The time effects that can currently apply in a level, in the order in which they run.
+ *
+ * <p>All registered time effects are frozen into an array on first use, ordered by
+ * {@link TimeEffect#getPriority() priority} and then by registry name. Each pipeline filters that
+ * array down to the effects whose {@link TimeEffect#getCondition() condition} can currently be met,
+ * and only rebuilds it when the common config is reloaded or players start or stop sleeping in the
+ * level. Ticks in which no effect can apply do no effect work at all.
+ */
+public class TimeEffectPipeline {
+
+    private static final TimeEffect[] NO_EFFECTS = new TimeEffect[0];
+
+    private static volatile TimeEffect[] registeredEffects;
+    private static volatile Map<TimeEffect, String> registeredIds = Map.of();
+
+    private TimeEffect[] activeEffects = NO_EFFECTS;
+    private ConfigHandler.CommonSnapshot compiledConfig;
+    private boolean compiledSleeping;
+
+    /**
+     * {@return the effects to run this tick, in order}
+     * @param sleeping  true if any players are sleeping in the level
+     */
+    public TimeEffect[] get(boolean sleeping) {
+        ConfigHandler.CommonSnapshot config = ConfigHandler.Common.snapshot();
+
+        if (config != compiledConfig || sleeping != compiledSleeping) {
+            activeEffects = compile(sleeping);
+            compiledConfig = config;
+            compiledSleeping = sleeping;
+        }
+
+        return activeEffects;
+    }
+
+    /**
+     * {@return the registry name of {@code effect}, or "unknown" if it is not registered}
+     * @param effect  a registered time effect
+     */
+    public static String getId(TimeEffect effect) {
+        return registeredIds.getOrDefault(effect, "unknown");
+    }
+
+    private static TimeEffect[] compile(boolean sleeping) {
+        List<TimeEffect> effects = new ArrayList<>();
+
+        for (TimeEffect effect : freezeRegisteredEffects()) {
+            EffectCondition condition = effect.getCondition();
+
+            if (condition == EffectCondition.ALWAYS || (condition == EffectCondition.SLEEPING && sleeping)) {
+                effects.add(effect);
+            }
+        }
+
+        return effects.isEmpty() ? NO_EFFECTS : effects.toArray(new TimeEffect[0]);
+    }
+
+    /** {@return all registered time effects, in the order in which they run} */
+    public static List<TimeEffect> getRegisteredEffects() {
+        return List.of(freezeRegisteredEffects());
+    }
+
+    private static TimeEffect[] freezeRegisteredEffects() {
+        TimeEffect[] effects = registeredEffects;
+
+        if (effects == null) {
+            List<RegistryObject<TimeEffect>> entries = TimeEffectsRegistry.TIME_EFFECT_REGISTRY.getEntries().stream()
+                    .sorted(Comparator.comparingInt((RegistryObject<TimeEffect> entry) -> entry.get().getPriority())
+                            .thenComparing(entry -> entry.getId().toString()))
+                    .toList();
+            Map<TimeEffect, String> ids = new IdentityHashMap<>();
+
+            for (RegistryObject<TimeEffect> entry : entries) {
+                ids.put(entry.get(), entry.getId().toString());
+            }
+
+            effects = entries.stream().map(RegistryObject::get).toArray(TimeEffect[]::new);
+            registeredIds = ids;
+            registeredEffects = effects;
+        }
+
+        return effects;
+    }
+
+}
@@ -27,9 +27,6 @@ import betterdays.config.ConfigHandler;
 import betterdays.time.TimeContext;
 import betterdays.wrappers.ServerLevelWrapper;
 
-import static betterdays.time.effects.EffectCondition.ALWAYS;
-import static betterdays.time.effects.EffectCondition.SLEEPING;
-
 /**
  * Time effect that increases the speed that weather passes at the same rate as the current speed of
  * time.
@@ -38,15 +35,21 @@ public class WeatherSleepEffect extends AbstractTimeEffect {
 
     @Override
     public void onTimeTick(TimeContext context) {
-        ServerLevelWrapper level = context.getLevel();
-        EffectCondition condition = ConfigHandler.Common.weatherEffect();
-        boolean allAwake = context.getTimeService().sleepStatus.allAwake();
-        if (level.weatherCycleEnabled()
-                && (condition == ALWAYS || (condition == SLEEPING && !allAwake))) {
+        if (context.getLevel().weatherCycleEnabled()) {
             progressWeather(context);
         }
     }
 
+    @Override
+    public EffectCondition getCondition() {
+        return ConfigHandler.Common.weatherEffect();
+    }
+
+    @Override
+    public int getPriority() {
+        return 100;
+    }
+
     /**
      * Progress the weather cycle in the level of {@code context} by its time delta.
      *
@@ -59,7 +62,7 @@ public class WeatherSleepEffect extends AbstractTimeEffect {
         int rainTime = level.levelData.getRainTime();
 
         // Subtract 1 from weather speed to account for vanilla's weather progression of 1 per tick.
-        int weatherSpeed = Ints.saturatedCast(context.getTimeDelta().longValue() - 1);
+        int weatherSpeed = Ints.saturatedCast(context.getTimeDeltaTicks() - 1);
 
         if (clearWeatherTime <= 0) {
             if (thunderTime > 0) {
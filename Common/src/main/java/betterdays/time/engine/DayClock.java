@@ -0,0 +1,17 @@
+package betterdays.time.engine;
+
+/**
+ * The integral day time of a level, as read and written by a {@link TimeEngine}.
+ */
+public interface DayClock {
+
+    /** {@return the current day time} */
+    long getDayTime();
+
+    /**
+     * Sets the current day time.
+     * @param dayTime  the new day time
+     */
+    void setDayTime(long dayTime);
+
+}
@@ -0,0 +1,22 @@
+package betterdays.time.engine;
+
+import betterdays.time.TimeAccumulator;
+
+/**
+ * Receives the outcome of each {@link TimeEngine} tick, so that the time effects and the morning
+ * wake-up can run against whatever owns the engine.
+ */
+public interface EffectSink {
+
+    /**
+     * Called after time has advanced.
+     *
+     * @param dayTime  the new time, which must not be modified
+     * @param timeDelta  the amount of time that elapsed
+     */
+    void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta);
+
+    /** Called when time reaches morning while players are sleeping, to complete the sleep cycle. */
+    void onMorning();
+
+}
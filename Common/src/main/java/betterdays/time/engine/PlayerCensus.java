@@ -0,0 +1,19 @@
+package betterdays.time.engine;
+
+/**
+ * The number of active and sleeping players in a level, as read by a {@link TimeEngine}.
+ */
+public interface PlayerCensus {
+
+    /** {@return the number of sleeping players} */
+    int amountSleeping();
+
+    /** {@return the number of players currently active (not spectating)} */
+    int amountActive();
+
+    /** {@return true when all players are awake, false otherwise} */
+    default boolean allAwake() {
+        return amountSleeping() == 0;
+    }
+
+}
@@ -0,0 +1,282 @@
+package betterdays.time.engine;
+
+import java.util.function.Supplier;
+
+import betterdays.time.TickTimeGovernor;
+import betterdays.time.Time;
+import betterdays.time.TimeAccumulator;
+import betterdays.time.TimeSpeedSchedule;
+
+/**
+ * Advances the Better Days day cycle: time-speed selection, the day and night transitions, the sleep
+ * time-speed for the current number of sleeping players, and the morning that ends a sleep cycle.
+ *
+ * <p>The engine only sees a level through a {@link DayClock} and a {@link PlayerCensus}, and reports
+ * each tick to an {@link EffectSink}, so it can be driven without a running game.
+ */
+public class TimeEngine {
+
+    // The largest number of lunar cycles that can be stored in an int
+    private static final int OVERFLOW_THRESHOLD = 11184 * Time.LUNAR_CYCLE_TICKS;
+
+    private final DayClock clock;
+    private final PlayerCensus census;
+    private final TickTimeGovernor governor;
+    private final Supplier<TimeSpeedSchedule> schedule;
+
+    private double timeDecimalAccumulator = 0;
+
+    /** Scratch time used by {@link #tick(double, EffectSink)} so that advancing time does not allocate. */
+    private final TimeAccumulator dayTime = new TimeAccumulator();
+
+    /** Sleep time-speeds of {@link #sleepSpeedsSchedule} for the current active player count. */
+    private double[] sleepSpeeds = new double[0];
+    private TimeSpeedSchedule sleepSpeedsSchedule;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param clock  the day time to advance
+     * @param census  the players who may be sleeping
+     * @param governor  the governor that throttles the sleep time-speed
+     * @param schedule  supplies the current time-speed schedule
+     */
+    public TimeEngine(DayClock clock, PlayerCensus census, TickTimeGovernor governor,
+            Supplier<TimeSpeedSchedule> schedule) {
+        this.clock = clock;
+        this.census = census;
+        this.governor = governor;
+        this.schedule = schedule;
+    }
+
+    /**
+     * Advances time by the current time-speed for {@code ticks} ticks, then reports the new time to
+     * {@code sink} and completes the sleep cycle if morning was reached.
+     *
+     * @param ticks  the number of ticks of time-speed to pass, normally 1
+     * @param sink  receives the new time and the morning
+     * @return the amount of time that elapsed
+     */
+    public double tick(double ticks, EffectSink sink) {
+        long oldTime = clock.getDayTime();
+        double timeDelta = advance(ticks);
+
+        sink.onTimeAdvanced(dayTime, timeDelta);
+
+        if (schedule.get().sleepEnabled && !census.allAwake()
+                && Time.crossedMorning(oldTime, dayTime.longValue())) {
+            sink.onMorning();
+        }
+
+        preventTimeOverflow();
+
+        return timeDelta;
+    }
+
+    /**
+     * Advances time as if {@code ticks} ticks of the Better Days day cycle had passed, without
+     * reporting the new time to {@code sink}.
+     *
+     * <p>Time lands where ticking {@code ticks} times would have left it, to within floating point
+     * rounding, assuming no players start or stop sleeping along the way. Sleeping players keep the
+     * current sleep time-speed until morning. If morning is reached, the sleep cycle is completed
+     * through {@code sink} and the remaining ticks pass at the day and night speeds.
+     *
+     * <p>This method runs in constant time regardless of {@code ticks}.
+     *
+     * @param ticks  the number of ticks to advance
+     * @param sink  receives the morning
+     * @return the new time
+     */
+    public Time fastForward(long ticks, EffectSink sink) {
+        TimeSpeedSchedule schedule = this.schedule.get();
+        double remaining = ticks;
+
+        dayTime.set(clock.getDayTime(), timeDecimalAccumulator);
+
+        if (schedule.sleepEnabled && !census.allAwake() && remaining > 0) {
+            double speed = getTimeSpeed(dayTime.timeOfDay());
+            double timeUntilMorning = Time.DAY_TICKS - dayTime.timeOfDay();
+
+            if (speed <= 0) {
+                // Sleeping players hold time still, so ticking would never reach morning
+                remaining = 0;
+            } else if (speed * remaining < timeUntilMorning) {
+                dayTime.add(speed * remaining);
+                remaining = 0;
+            } else {
+                remaining -= timeUntilMorning / speed;
+                setDayTime(dayTime.set((dayTime.getDay() + 1) * Time.DAY_TICKS, 0));
+                sink.onMorning();
+            }
+        }
+
+        if (remaining > 0) {
+            dayTime.add(schedule.integrate(dayTime.timeOfDay(), remaining));
+        }
+
+        setDayTime(dayTime);
+        preventTimeOverflow();
+
+        return getDayTime();
+    }
+
+    /**
+     * Progresses time by the current time-speed for {@code ticks} ticks. The new time is left in
+     * {@link #dayTime}.
+     *
+     * @param ticks  the number of ticks of time-speed to pass
+     * @return the amount of time that elapsed
+     */
+    private double advance(double ticks) {
+        dayTime.set(clock.getDayTime(), timeDecimalAccumulator);
+
+        double timeOfDay = dayTime.timeOfDay();
+        double timeDelta = getTimeSpeed(timeOfDay) * ticks;
+        timeDelta = correctForOvershoot(timeOfDay, timeDelta, ticks);
+
+        setDayTime(dayTime.add(timeDelta));
+        return timeDelta;
+    }
+
+    /**
+     * Checks to see if the time-speed will change after elapsing time by {@code timeDelta}, and
+     * correct for any overshooting (or undershooting) based on the new speed.
+     *
+     * @param timeOfDay  the current time-of-day
+     * @param timeDelta  the proposed amount of time to elapse
+     * @param ticks  the number of ticks over which {@code timeDelta} elapses
+     * @return the adjusted amount of time to elapse
+     */
+    private double correctForOvershoot(double timeOfDay, double timeDelta, double ticks) {
+        TimeSpeedSchedule schedule = this.schedule.get();
+
+        if (timeDelta <= 0) {
+            return timeDelta;
+        }
+
+        double nextTimeOfDay = (timeOfDay + timeDelta) % Time.DAY_TICKS;
+
+        if (census.allAwake()) {
+            // day to night transition
+            if (Time.betweenMod(schedule.nightStart, timeOfDay, nextTimeOfDay)) {
+                double nextTimeSpeed = schedule.baseSpeed(nextTimeOfDay);
+                double timeUntilBreakpoint = schedule.nightStart - timeOfDay;
+                double breakpointRatio = 1 - timeUntilBreakpoint / timeDelta;
+
+                return timeUntilBreakpoint + nextTimeSpeed * ticks * breakpointRatio;
+            }
+
+            // night to day transition
+            if (Time.betweenMod(schedule.dayStart, timeOfDay, nextTimeOfDay)) {
+                double nextTimeSpeed = schedule.baseSpeed(nextTimeOfDay);
+                double timeUntilBreakpoint = schedule.dayStart - timeOfDay;
+                double breakpointRatio = 1 - timeUntilBreakpoint / timeDelta;
+
+                return timeUntilBreakpoint + nextTimeSpeed * ticks * breakpointRatio;
+            }
+        } else {
+            // morning transition
+            double timeUntilMorning = Time.DAY_TICKS - timeOfDay;
+            if (timeUntilMorning < timeDelta) {
+                double nextTimeSpeed = schedule.daySpeed;
+                double breakpointRatio = 1 - timeUntilMorning / timeDelta;
+
+                return timeUntilMorning + nextTimeSpeed * ticks * breakpointRatio;
+            }
+        }
+
+        return timeDelta;
+    }
+
+    /**
+     * Prevents time value from getting too large by essentially keeping it modulo a multiple of the
+     * lunar cycle.
+     */
+    private void preventTimeOverflow() {
+        long time = clock.getDayTime();
+        if (time > OVERFLOW_THRESHOLD) {
+            clock.setDayTime(time - OVERFLOW_THRESHOLD);
+        }
+    }
+
+    /**
+     * Calculates the time-speed multiplier at {@code timeOfDay} based on the number of sleeping
+     * players. The sleep time-speed is scaled by the current throttle ratio of the governor.
+     *
+     * <p>A return value of 1 is equivalent to vanilla time speed.
+     *
+     * @param timeOfDay  the time-of-day at which to calculate the time-speed
+     * @return the time-speed
+     */
+    public double getTimeSpeed(double timeOfDay) {
+        return governor.apply(getScheduledTimeSpeed(timeOfDay));
+    }
+
+    /**
+     * Calculates the time-speed multiplier at {@code timeOfDay} as configured by the time-speed
+     * schedule, before any throttling by the governor.
+     *
+     * @param timeOfDay  the time-of-day at which to calculate the time-speed
+     * @return the scheduled time-speed
+     */
+    public double getScheduledTimeSpeed(double timeOfDay) {
+        TimeSpeedSchedule schedule = this.schedule.get();
+
+        if (!schedule.sleepEnabled || census.allAwake()) {
+            return schedule.baseSpeed(timeOfDay);
+        }
+
+        return getSleepSpeeds(schedule)[census.amountSleeping()];
+    }
+
+    /**
+     * Returns the sleep time-speed table of {@code schedule} for the current number of active
+     * players. The table is only rebuilt when the schedule or the active player count changes.
+     *
+     * @param schedule  the current time-speed schedule
+     * @return the sleep time-speeds indexed by sleeping player count
+     */
+    private double[] getSleepSpeeds(TimeSpeedSchedule schedule) {
+        int activePlayers = census.amountActive();
+
+        if (schedule != sleepSpeedsSchedule || sleepSpeeds.length != activePlayers + 1) {
+            sleepSpeeds = schedule.sleepSpeeds(activePlayers);
+            sleepSpeedsSchedule = schedule;
+        }
+
+        return sleepSpeeds;
+    }
+
+    /** {@return the current time-of-day, including the fractional time between ticks} */
+    public double getTimeOfDay() {
+        return Time.timeOfDay(clock.getDayTime(), timeDecimalAccumulator);
+    }
+
+    /** {@return the fractional component of the current time} */
+    public double getFractionalTime() {
+        return timeDecimalAccumulator;
+    }
+
+    /** {@return the current time as an instance of {@link Time}} */
+    public Time getDayTime() {
+        return new Time(clock.getDayTime(), timeDecimalAccumulator);
+    }
+
+    /**
+     * Sets the current time.
+     * @param time  the time to set
+     * @return the new time
+     */
+    public Time setDayTime(Time time) {
+        timeDecimalAccumulator = time.fractionalValue();
+        clock.setDayTime(time.longValue());
+        return time;
+    }
+
+    private void setDayTime(TimeAccumulator time) {
+        timeDecimalAccumulator = time.fractionalValue();
+        clock.setDayTime(time.longValue());
+    }
+
+}
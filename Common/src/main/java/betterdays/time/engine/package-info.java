@@ -0,0 +1,9 @@
+/**
+ * The Better Days day cycle, separated from the level it runs in.
+ *
+ * <p>Nothing in this package references Minecraft or other external libraries, so the day cycle
+ * stays the same between Minecraft versions and can be driven headless, as the tests do. A level is
+ * connected to a {@link betterdays.time.engine.TimeEngine} through the {@code DayClock},
+ * {@code PlayerCensus} and {@code EffectSink} adapters.
+ */
+package betterdays.time.engine;
@@ -0,0 +1,28 @@
+package betterdays.time.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when a sleep cycle completes in a level, covering the sleep finished event, waking
+ * players up, and clearing the weather.
+ */
+@Name("betterdays.Morning")
+@Label("Morning")
+@Category({"Better Days", "Time"})
+@Description("The completion of a sleep cycle in a dimension")
+@StackTrace(false)
+public class MorningEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Sleeping Players")
+    @Description("The number of players who were sleeping when morning came")
+    public int sleepingPlayers;
+
+}
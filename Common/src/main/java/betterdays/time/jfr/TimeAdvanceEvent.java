@@ -0,0 +1,31 @@
+package betterdays.time.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Recorded when a {@code TimeService} advances the time of its level by the current time-speed. */
+@Name("betterdays.TimeAdvance")
+@Label("Time Advance")
+@Category({"Better Days", "Time"})
+@Description("Advancing the time of a dimension by the current time-speed")
+@StackTrace(false)
+public class TimeAdvanceEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Time Delta")
+    @Description("The amount of time that passed during the tick")
+    public double timeDelta;
+
+    @Label("Advance Time")
+    @Description("The time taken by the time engine to advance the time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long advanceTime;
+
+}
@@ -0,0 +1,29 @@
+package betterdays.time.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Recorded when a {@code TimeService} sends its time to the players who observe it. */
+@Name("betterdays.TimeBroadcast")
+@Label("Time Broadcast")
+@Category({"Better Days", "Time"})
+@Description("Sending the time of a dimension to its players")
+@StackTrace(false)
+public class TimeBroadcastEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Payloads Sent")
+    @Description("The number of time sync payloads sent")
+    public int payloadsSent;
+
+    @Label("Vanilla Packets Sent")
+    @Description("The number of vanilla time packets sent")
+    public int vanillaPacketsSent;
+
+}
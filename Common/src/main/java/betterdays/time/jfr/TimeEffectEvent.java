@@ -0,0 +1,33 @@
+package betterdays.time.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Recorded for every time effect that runs during a tick. */
+@Name("betterdays.TimeEffect")
+@Label("Time Effect")
+@Category({"Better Days", "Time"})
+@Description("A time effect applied to a dimension for one tick")
+@StackTrace(false)
+public class TimeEffectEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Effect")
+    @Description("The registry name of the time effect")
+    public String effect;
+
+    @Label("Extra Ticks")
+    @Description("The number of ticks the effect was asked to add beyond vanilla's one")
+    public long extraTicks;
+
+    @Label("Players Touched")
+    @Description("The number of players the effect applied to")
+    public int playersTouched;
+
+}
@@ -0,0 +1,46 @@
+package betterdays.time.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded once per tick of a {@code TimeService}, covering all of its phases.
+ *
+ * <p>Better Days events are only committed while a JDK Flight Recorder recording that enables them is
+ * running, for example one started with {@code jcmd <pid> JFR.start}. Otherwise, no events are created,
+ * and each one costs a check of whether its event type is enabled.
+ */
+@Name("betterdays.TimeTick")
+@Label("Time Tick")
+@Category({"Better Days", "Time"})
+@Description("A tick of the time, sleep and weather calculations of a dimension")
+@StackTrace(false)
+public class TimeTickEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Time Delta")
+    @Description("The amount of time that passed during the tick")
+    public double timeDelta;
+
+    @Label("Sleeping Players")
+    public int sleepingPlayers;
+
+    @Label("Time Effects")
+    @Description("The number of time effects that ran during the tick")
+    public int effects;
+
+    @Label("Throttle")
+    @Description("The ratio by which the sleep time-speed was scaled to keep up with the server")
+    public double throttle;
+
+    @Label("Average MSPT")
+    @Description("The moving average of the server tick duration in milliseconds")
+    public double averageMspt;
+
+}
@@ -0,0 +1,105 @@
+package betterdays.time.profiling;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds.
+ *
+ * <p>Values below {@value #SUB_BUCKETS} are counted exactly. Larger values are counted in buckets
+ * that split each power of two into {@value #SUB_BUCKETS} equal parts, so every recorded value is
+ * known to within 12.5%. Recording a value never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS)];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a duration.
+     * @param nanos  the duration in nanoseconds, negative values are counted as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /** Forgets all recorded durations. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /** {@return the number of recorded durations} */
+    public long count() {
+        return count;
+    }
+
+    /** {@return the sum of all recorded durations in nanoseconds} */
+    public long total() {
+        return total;
+    }
+
+    /** {@return the mean of the recorded durations in nanoseconds, or 0 if none were recorded} */
+    public double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /** {@return the longest recorded duration in nanoseconds} */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * {@return an upper bound for the {@code percentile}th percentile of the recorded durations in
+     * nanoseconds, or 0 if none were recorded}
+     * @param percentile  the percentile, between 0 and 100
+     */
+    public long percentile(double percentile) {
+        long target = (long) Math.ceil(count * Math.min(100D, Math.max(0D, percentile)) / 100D);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= target && seen > 0) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,205 @@
+package betterdays.time.profiling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import betterdays.time.effects.TimeEffect;
+import betterdays.time.effects.TimeEffectPipeline;
+
+/**
+ * Collects the cost of Better Days while a profiling session started with
+ * {@code /betterdays profile start} is running.
+ *
+ * <p>Durations are recorded into a {@link LatencyHistogram} for each {@link Phase} of a
+ * {@code TimeService} tick and for each time effect. All histograms are created when a session
+ * starts, so recording never allocates or locks. Recording and reporting both happen on the server
+ * thread.
+ */
+public final class TickProfiler {
+
+    /** The phases of a {@code TimeService} tick. */
+    public enum Phase {
+        /** The whole tick. */
+        TICK("tick"),
+        /** Advancing the time by the current time-speed. */
+        ADVANCE("advance"),
+        /** Running all time effects. */
+        EFFECTS("effects"),
+        /** Completing a sleep cycle. */
+        MORNING("morning"),
+        /** Sending the time to players. */
+        BROADCAST("broadcast");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private static final Map<TimeEffect, LatencyHistogram> effects = new LinkedHashMap<>();
+
+    private static volatile boolean running;
+    private static long ticks;
+    private static double requestedSpeed;
+    private static double achievedSpeed;
+    private static long payloadsSent;
+    private static long vanillaPacketsSent;
+    private static long sleepers;
+    private static int maxSleepers;
+    private static double throttle;
+    private static double minThrottle;
+
+    static {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    private TickProfiler() {}
+
+    /** {@return true if a profiling session is running} */
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /** Discards all collected data and starts a new profiling session. */
+    public static void start() {
+        start(TimeEffectPipeline.getRegisteredEffects());
+    }
+
+    /**
+     * Discards all collected data and starts a new session that records {@code registeredEffects}.
+     * @param registeredEffects  the time effects to record durations for
+     */
+    static void start(List<TimeEffect> registeredEffects) {
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+
+        effects.clear();
+        for (TimeEffect effect : registeredEffects) {
+            effects.put(effect, new LatencyHistogram());
+        }
+
+        ticks = 0;
+        requestedSpeed = 0;
+        achievedSpeed = 0;
+        payloadsSent = 0;
+        vanillaPacketsSent = 0;
+        sleepers = 0;
+        maxSleepers = 0;
+        throttle = 0;
+        minThrottle = 1;
+        running = true;
+    }
+
+    /** Stops the current profiling session, keeping its data for {@link #report()}. */
+    public static void stop() {
+        running = false;
+    }
+
+    /** {@return the current time in nanoseconds if a session is running, or 0 otherwise} */
+    public static long begin() {
+        return running ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@code start} for {@code phase}.
+     *
+     * @param phase  the phase that ran
+     * @param start  the value returned by {@link #begin()} when the phase started
+     */
+    public static void record(Phase phase, long start) {
+        if (start != 0 && running) {
+            phases[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the time since {@code start} for {@code effect}.
+     *
+     * @param effect  the time effect that ran
+     * @param start  the value returned by {@link #begin()} when the effect started
+     */
+    public static void recordEffect(TimeEffect effect, long start) {
+        if (start != 0 && running) {
+            LatencyHistogram histogram = effects.get(effect);
+
+            if (histogram != null) {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a {@code TimeService} tick.
+     *
+     * @param requested  the time-speed requested by the schedule
+     * @param achieved  the amount of time that passed
+     * @param sleeping  the number of sleeping players
+     * @param throttleRatio  the ratio by which the sleep time-speed was throttled
+     */
+    public static void recordTick(double requested, double achieved, int sleeping, double throttleRatio) {
+        if (running) {
+            ticks++;
+            requestedSpeed += requested;
+            achievedSpeed += achieved;
+            sleepers += sleeping;
+            maxSleepers = Math.max(maxSleepers, sleeping);
+            throttle += throttleRatio;
+            minThrottle = Math.min(minThrottle, throttleRatio);
+        }
+    }
+
+    /**
+     * Records the packets sent by a time broadcast.
+     *
+     * @param payloads  the number of time sync payloads sent
+     * @param vanillaPackets  the number of vanilla time packets sent
+     */
+    public static void recordBroadcast(int payloads, int vanillaPackets) {
+        if (running) {
+            payloadsSent += payloads;
+            vanillaPacketsSent += vanillaPackets;
+        }
+    }
+
+    /** {@return the collected data as lines of a table, with durations in microseconds} */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-24s %8s %9s %9s %9s %9s", "phase/effect", "count", "mean",
+                "p50", "p99", "max"));
+
+        for (Phase phase : Phase.values()) {
+            lines.add(row(phase.label, phases[phase.ordinal()]));
+        }
+
+        for (Map.Entry<TimeEffect, LatencyHistogram> entry : effects.entrySet()) {
+            lines.add(row(TimeEffectPipeline.getId(entry.getKey()), entry.getValue()));
+        }
+
+        double tickCount = Math.max(1, ticks);
+        lines.add(String.format(Locale.ROOT, "ticks %d, speed requested %.2f, achieved %.2f", ticks,
+                requestedSpeed / tickCount, achievedSpeed / tickCount));
+        lines.add(String.format(Locale.ROOT, "packets: payload %d, vanilla %d", payloadsSent,
+                vanillaPacketsSent));
+        lines.add(String.format(Locale.ROOT, "sleepers: mean %.1f, max %d", sleepers / tickCount,
+                maxSleepers));
+        lines.add(String.format(Locale.ROOT, "throttle: mean %.2f, min %.2f", ticks > 0 ? throttle / tickCount : 1D,
+                minThrottle));
+
+        return lines;
+    }
+
+    private static String row(String name, LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%-24s %8d %9.1f %9.1f %9.1f %9.1f", name, histogram.count(),
+                histogram.mean() / 1000D, histogram.percentile(50) / 1000D, histogram.percentile(99) / 1000D,
+                histogram.max() / 1000D);
+    }
+
+}
@@ -0,0 +1,89 @@
+package betterdays.utils;
+
+import java.util.function.IntPredicate;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decides which calls to {@code LivingEntity.tickEffects} can be skipped when the effects of an
+ * entity are ticked many times in a row, by mirroring what {@code MobEffectInstance.tick} does to an
+ * effect with a limited duration.
+ */
+public final class EffectTicks {
+
+    /** The number of ticks between the updates that entities send for each of their effects. */
+    public static final int UPDATE_INTERVAL = 600;
+
+    /** The period of an effect that never applies its tick. */
+    public static final int NEVER = 0;
+    /** The period of an effect that applies its tick, but not on every multiple of a period. */
+    public static final int IRREGULAR = -1;
+
+    // The durations over which the period of an effect is inferred
+    private static final int PROBED_DURATIONS = 2 * UPDATE_INTERVAL;
+
+    private EffectTicks() {}
+
+    /**
+     * Infers the period of an effect from {@code appliesAt}, its {@code shouldApplyEffectTickThisTick}
+     * for a fixed amplifier. Vanilla effects either never apply their tick, or apply it whenever the
+     * remaining duration is a multiple of a period, so the predicate is probed over the durations up
+     * to {@value #PROBED_DURATIONS} and assumed to keep its pattern above them.
+     *
+     * @param appliesAt  tests whether the effect applies its tick at a remaining duration
+     * @return the period, {@link #NEVER} or {@link #IRREGULAR}
+     */
+    public static int period(IntPredicate appliesAt) {
+        int period = NEVER;
+
+        for (int duration = 1; duration <= PROBED_DURATIONS; duration++) {
+            boolean applies = appliesAt.test(duration);
+
+            if (period == NEVER) {
+                if (applies) {
+                    period = duration;
+                }
+            } else if (applies != (duration % period == 0)) {
+                return IRREGULAR;
+            }
+        }
+
+        return period;
+    }
+
+    /**
+     * Returns the number of upcoming calls to {@code tickEffects}, up to {@code limit}, that would
+     * do nothing to an effect but shorten its duration. The quiet run ends at whichever comes first:
+     * the next tick the effect applies, the next update of its duration, or its expiry.
+     *
+     * @param duration  the remaining duration of the effect
+     * @param period  the period of the effect, from {@link #period}
+     * @param appliesAt  tests whether the effect applies its tick at a remaining duration, which is
+     *                   only needed for an {@link #IRREGULAR} period and may otherwise be null
+     * @param limit  the largest number of ticks to count
+     * @return the number of quiet ticks
+     */
+    public static int quietTicks(int duration, int period, @Nullable IntPredicate appliesAt, int limit) {
+        if (duration <= 1) {
+            return 0;
+        }
+
+        // The tick that leaves a multiple of the update interval is not quiet, and expiry leaves 0
+        int quiet = Math.min(limit, (duration - 1) % UPDATE_INTERVAL);
+
+        if (period > 0) {
+            return Math.min(quiet, duration % period);
+        }
+
+        if (period == IRREGULAR) {
+            for (int n = 0; n < quiet; n++) {
+                if (appliesAt.test(duration - n)) {
+                    return n;
+                }
+            }
+        }
+
+        return quiet;
+    }
+
+}
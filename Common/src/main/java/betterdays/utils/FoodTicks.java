@@ -0,0 +1,105 @@
+package betterdays.utils;
+
+/**
+ * Decides which calls to {@code FoodData.tick} can be skipped when food data is ticked many times in
+ * a row, by mirroring the branches of {@code FoodData.tick} on plain values.
+ */
+public final class FoodTicks {
+
+    /** The exhaustion above which a food tick consumes saturation or food. */
+    public static final float EXHAUSTION_THRESHOLD = 4.0F;
+
+    private FoodTicks() {}
+
+    /**
+     * Ticks the food data of {@code holder} {@code ticks} times.
+     *
+     * <p>On most ticks, {@code FoodData.tick} does nothing but advance its tick timer. Runs of such
+     * ticks are skipped over by advancing the timer directly, so {@link Food#tick} is only called on
+     * ticks where exhaustion is drained or the holder heals or starves. The result is the same as
+     * calling {@code Food.tick} {@code ticks} times, and the cost grows with the number of those
+     * ticks rather than with {@code ticks}.
+     *
+     * @param holder  the holder of the food data, such as a player
+     * @param food  the access to the food data of {@code holder}
+     * @param ticks  the number of times to tick the food data
+     * @param <T>  the type of the holder
+     */
+    public static <T> void tick(T holder, Food<T> food, long ticks) {
+        while (ticks > 0) {
+            food.tick(holder);
+            ticks--;
+
+            int tickTimer = food.tickTimer(holder);
+            int quietTicks = quietTicks(food.exhaustion(holder), food.saturation(holder), food.foodLevel(holder),
+                    tickTimer, food.naturalRegeneration(holder), food.isHurt(holder));
+
+            if (quietTicks < 0) {
+                // Every remaining tick would only reset the tick timer, which is already reset
+                return;
+            }
+
+            int skipped = (int) Math.min(quietTicks, ticks);
+            food.setTickTimer(holder, tickTimer + skipped);
+            ticks -= skipped;
+        }
+    }
+
+    /**
+     * Returns the number of upcoming calls to {@code FoodData.tick} that would do nothing but
+     * increment its tick timer.
+     *
+     * @param exhaustion  the exhaustion level of the food data
+     * @param saturation  the saturation level of the food data
+     * @param foodLevel  the food level of the food data
+     * @param tickTimer  the current value of the food data's tick timer
+     * @param naturalRegeneration  true if the natural regeneration game rule is enabled
+     * @param hurt  true if the player is hurt
+     * @return the number of quiet ticks, or -1 if no upcoming tick would change anything
+     */
+    public static int quietTicks(float exhaustion, float saturation, int foodLevel, int tickTimer,
+            boolean naturalRegeneration, boolean hurt) {
+        if (exhaustion > EXHAUSTION_THRESHOLD) {
+            return 0;
+        }
+
+        if (naturalRegeneration && saturation > 0.0F && hurt && foodLevel >= 20) {
+            return Math.max(0, 9 - tickTimer);
+        } else if (naturalRegeneration && foodLevel >= 18 && hurt) {
+            return Math.max(0, 79 - tickTimer);
+        } else if (foodLevel <= 0) {
+            return Math.max(0, 79 - tickTimer);
+        } else {
+            return tickTimer == 0 ? -1 : 0;
+        }
+    }
+
+    /**
+     * Access to the food data of a holder of type {@code T}. Implementations are stateless, so that
+     * one instance can serve every holder without allocating.
+     *
+     * @param <T>  the type of the holder
+     */
+    public interface Food<T> {
+
+        /** Ticks the food data of {@code holder} once, as {@code FoodData.tick} does. */
+        void tick(T holder);
+
+        float exhaustion(T holder);
+
+        float saturation(T holder);
+
+        int foodLevel(T holder);
+
+        int tickTimer(T holder);
+
+        void setTickTimer(T holder, int tickTimer);
+
+        /** {@return true if the natural regeneration game rule is enabled where {@code holder} is} */
+        boolean naturalRegeneration(T holder);
+
+        boolean isHurt(T holder);
+
+    }
+
+}
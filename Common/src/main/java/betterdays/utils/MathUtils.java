@@ -54,4 +54,87 @@ public class MathUtils {
         return c*x / (2*c*x - c - x + 1);
     }
 
+    /**
+     * Returns the number of successes in {@code trials} independent trials that each succeed with
+     * probability {@code chance}, at the quantile {@code u} of the binomial distribution. Passing a
+     * uniformly distributed {@code u} samples the distribution by inversion. The expected number of
+     * iterations is one more than the mean, so this is fast while {@code trials * chance} is small.
+     *
+     * @param u  the quantile, between 0 and 1
+     * @param trials  the number of trials
+     * @param chance  the probability that a trial succeeds, less than 1
+     * @return the number of successes
+     */
+    public static int binomialQuantile(double u, int trials, double chance) {
+        double failure = 1D - chance;
+        double odds = chance / failure;
+        double probability = Math.pow(failure, trials);
+
+        if (probability < Double.MIN_NORMAL) {
+            // The chance of no successes underflows, so the search cannot start from zero
+            return binomialQuantileFromMode(u, trials, chance, odds);
+        }
+
+        double scale = (trials + 1) * odds;
+        int successes = 0;
+
+        while (u > probability && successes < trials) {
+            u -= probability;
+            successes++;
+            probability *= scale / successes - odds;
+        }
+
+        return successes;
+    }
+
+    /**
+     * Finds the binomial quantile by searching outwards from the most likely number of successes,
+     * for distributions whose probability of no successes is too small to represent.
+     */
+    private static int binomialQuantileFromMode(double u, int trials, double chance, double odds) {
+        int mode = (int) ((trials + 1) * chance);
+        double log = mode * Math.log(chance) + (trials - mode) * Math.log1p(-chance);
+
+        for (int i = 0; i < mode; i++) {
+            log += Math.log(trials - i) - Math.log(i + 1);
+        }
+
+        double modeProbability = Math.exp(log);
+        double below = 0D;
+        double probability = modeProbability;
+
+        for (int k = mode - 1; k >= 0 && probability > 0D; k--) {
+            probability *= (k + 1) / ((trials - k) * odds);
+            below += probability;
+        }
+
+        int successes = mode;
+        probability = modeProbability;
+
+        if (u > below) {
+            u -= below;
+
+            while (u > probability && successes < trials) {
+                u -= probability;
+                successes++;
+                probability *= (trials - successes + 1) * odds / successes;
+            }
+        } else {
+            double remaining = below - u;
+
+            while (successes > 0) {
+                probability *= successes / ((trials - successes + 1) * odds);
+                successes--;
+
+                if (remaining < probability) {
+                    break;
+                }
+
+                remaining -= probability;
+            }
+        }
+
+        return successes;
+    }
+
 }
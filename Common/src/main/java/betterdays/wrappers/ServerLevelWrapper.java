@@ -21,20 +21,32 @@
 
 package betterdays.wrappers;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameRules;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.storage.DerivedLevelData;
 import net.minecraft.world.level.storage.ServerLevelData;
 
-import betterdays.BetterDays;
+import betterdays.mixin.accessor.LevelChunkAccessor;
+import betterdays.mixin.accessor.LevelInvoker;
+import betterdays.mixin.accessor.ServerLevelAccessor;
 import betterdays.time.SleepStatus;
-import betterdays.utils.ReflectionUtil;
+import betterdays.time.engine.DayClock;
 
 /**
  * This class acts as a wrapper for {@link ServerLevel} to increase consistency between Minecraft
@@ -45,7 +57,7 @@ import betterdays.utils.ReflectionUtil;
  * imports or references {@link ServerLevel}. This class consolidates these variations into itself,
  * allowing other classes to depend on it instead.
  */
-public class ServerLevelWrapper extends Wrapper<ServerLevel> {
+public class ServerLevelWrapper extends Wrapper<ServerLevel> implements DayClock {
 
     // Store classes at the top to minimize file changes between Minecraft versions.
     private static final Class<ServerLevel> levelClass = ServerLevel.class;
@@ -64,6 +76,16 @@ public class ServerLevelWrapper extends Wrapper<ServerLevel> {
         this.levelData = levelDataClass.cast(this.get().getLevelData());
     }
 
+    @Override
+    public long getDayTime() {
+        return this.get().getDayTime();
+    }
+
+    @Override
+    public void setDayTime(long dayTime) {
+        this.get().setDayTime(dayTime);
+    }
+
     /** {@return true if the 'daylight cycle' game rule is enabled in this level} */
     public boolean daylightRuleEnabled() {
         return this.get().getGameRules().getBoolean(GameRules.RULE_DAYLIGHT);
@@ -75,12 +97,14 @@ public class ServerLevelWrapper extends Wrapper<ServerLevel> {
     }
 
     /**
-     * Sets the 'random tick speed' game rule for this level.
-     * @param speed  the new random tick speed
+     * {@return the duration of the last completed server tick in nanoseconds} While the server is
+     * ticking this level, this is the duration of the previous tick.
      */
-    public void setRandomTickSpeed(int speed) {
-        this.get().getGameRules().getRule(GameRules.RULE_RANDOMTICKING)
-                .set(speed, this.get().getServer());
+    public long lastServerTickNanos() {
+        MinecraftServer server = this.get().getServer();
+        long[] tickTimes = server.getTickTimesNanos();
+
+        return tickTimes[Math.floorMod(server.getTickCount() - 1, tickTimes.length)];
     }
 
     /**
@@ -103,20 +127,13 @@ public class ServerLevelWrapper extends Wrapper<ServerLevel> {
     }
 
     /**
-     * Sets the level sleep status using reflection, as access modifiers prevent this.
+     * Sets the level sleep status through an accessor, as access modifiers prevent this.
      * In Minecraft versions lower than 1.17 this method should do nothing.
      *
      * @param newStatus  the new sleep status
      */
     public void setSleepStatus(SleepStatus newStatus) {
-        try {
-            Field sleepStatus = ReflectionUtil.findField(ServerLevel.class, "sleepStatus");
-
-            sleepStatus.set(this.get(), newStatus);
-        }
-        catch (IllegalAccessException | NoSuchFieldException e) {
-            BetterDays.LOGGER.error("Error settings sleep status.", e);
-        }
+        ((ServerLevelAccessor) this.get()).betterdays$setSleepStatus(newStatus);
     }
 
     /**
@@ -131,12 +148,92 @@ public class ServerLevelWrapper extends Wrapper<ServerLevel> {
 
     /** Ticks all loaded block entities in this level. */
     public void tickBlockEntities() {
-        try {
-            Method tickBlockEntitiesMethod = ReflectionUtil.findMethod(Level.class, "tickBlockEntities");
+        ((LevelInvoker) get()).betterdays$tickBlockEntities();
+    }
+
+    /**
+     * {@return the tickers of all loaded block entities in this level} The list is the level's own
+     * and must not be modified. It may hold tickers of block entities that have since been removed.
+     */
+    public List<TickingBlockEntity> getBlockEntityTickers() {
+        return ((LevelInvoker) get()).betterdays$getBlockEntityTickers();
+    }
+
+    /**
+     * Collects the block entity tickers in loaded chunks within {@code radius} chunks of any of
+     * {@code players}. Tickers are looked up through the per-chunk ticker maps that vanilla keeps up
+     * to date as block entities load and unload, so the level's global ticker list is not scanned.
+     *
+     * <p>{@code tickers} and {@code visitedChunks} are cleared before use, so that callers that run
+     * every tick can reuse them instead of allocating new collections.
+     *
+     * @param players  the players around whom to collect tickers
+     * @param radius  the radius around each player, in chunks
+     * @param typeFilter  returns true for block entity types whose tickers should be collected
+     * @param tickers  the list to collect the tickers into
+     * @param visitedChunks  scratch set of the chunks that have been visited
+     */
+    public void collectBlockEntityTickersNear(List<ServerPlayer> players, int radius,
+            Predicate<BlockEntityType<?>> typeFilter, List<TickingBlockEntity> tickers, LongSet visitedChunks) {
+        tickers.clear();
+        visitedChunks.clear();
+
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayer player = players.get(i);
+            int centerX = SectionPos.blockToSectionCoord(player.getBlockX());
+            int centerZ = SectionPos.blockToSectionCoord(player.getBlockZ());
 
-            tickBlockEntitiesMethod.invoke(get());
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            BetterDays.LOGGER.error("Error ticking block entities.", e);
+            for (int x = centerX - radius; x <= centerX + radius; x++) {
+                for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                    if (!visitedChunks.add(ChunkPos.asLong(x, z))) {
+                        continue;
+                    }
+
+                    LevelChunk chunk = this.get().getChunkSource().getChunkNow(x, z);
+
+                    if (chunk != null) {
+                        collectBlockEntityTickers(chunk, typeFilter, tickers);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collectBlockEntityTickers(LevelChunk chunk, Predicate<BlockEntityType<?>> typeFilter,
+            List<TickingBlockEntity> tickers) {
+        Map<BlockPos, BlockEntity> blockEntities = chunk.getBlockEntities();
+
+        for (Map.Entry<BlockPos, ? extends TickingBlockEntity> entry
+                : ((LevelChunkAccessor) chunk).betterdays$getTickersInLevel().entrySet()) {
+            BlockEntity blockEntity = blockEntities.get(entry.getKey());
+
+            if (blockEntity != null && typeFilter.test(blockEntity.getType())) {
+                tickers.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Ticks each of {@code tickers} once, skipping those that have been removed or are in chunks
+     * that are not ticking, as the vanilla block entity tick does.
+     *
+     * @param tickers  the block entity tickers to tick
+     */
+    public void tickBlockEntities(List<TickingBlockEntity> tickers) {
+        for (int i = 0; i < tickers.size(); i++) {
+            tickBlockEntity(tickers.get(i));
+        }
+    }
+
+    /**
+     * Ticks {@code ticker} once, unless it has been removed or is in a chunk that is not ticking, as
+     * the vanilla block entity tick does.
+     *
+     * @param ticker  the block entity ticker to tick
+     */
+    public void tickBlockEntity(TickingBlockEntity ticker) {
+        if (!ticker.isRemoved() && this.get().shouldTickBlocksAt(ticker.getPos())) {
+            ticker.tick();
         }
     }
 
@@ -21,17 +21,30 @@
 
 package betterdays.wrappers;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
 
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.ClientboundUpdateMobEffectPacket;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.food.FoodData;
+import net.minecraft.world.level.GameRules;
 
-import betterdays.BetterDays;
-import betterdays.utils.ReflectionUtil;
+import betterdays.mixin.accessor.FoodDataAccessor;
+import betterdays.mixin.accessor.LivingEntityInvoker;
+import betterdays.mixin.accessor.MobEffectInstanceAccessor;
+import betterdays.time.effects.EffectSyncedInstance;
+import betterdays.utils.EffectTicks;
+import betterdays.utils.FoodTicks;
 
 /**
  * This class acts as a wrapper for {@link ServerPlayer} to increase the consistency of the
@@ -44,19 +57,16 @@ import betterdays.utils.ReflectionUtil;
  */
 public class ServerPlayerWrapper extends Wrapper<ServerPlayer> {
 
-    private static Method tickEffectsMethod;
-
-    static {
-        try {
-            tickEffectsMethod = ReflectionUtil.findMethod(LivingEntity.class, "tickEffects");
-        } catch (NoSuchMethodException e) {
-            BetterDays.LOGGER.error("Error loading tickEffectsMethod: %s", e);
-        }
-    }
-
     /** The class that this {@code Wrapper} wraps. */
     public static Class<ServerPlayer> playerClass = ServerPlayer.class;
 
+    // The number of ticks that one second of a displayed effect duration lasts
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int UNKNOWN_PERIOD = Integer.MIN_VALUE;
+
+    // The inferred periods of each effect by amplifier, only touched on the server thread
+    private static final Map<MobEffect, int[]> EFFECT_PERIODS = new IdentityHashMap<>();
+
     /**
      * Instantiates a new player wrapper.
      * @param player  the player to wrap
@@ -90,23 +100,234 @@ public class ServerPlayerWrapper extends Wrapper<ServerPlayer> {
         return new ServerLevelWrapper(get().level());
     }
 
+    /**
+     * Ticks this player's food data {@code ticks} times.
+     *
+     * <p>On most ticks, {@link FoodData#tick} does nothing but advance its tick timer, so runs of
+     * such ticks are skipped over as described in {@link FoodTicks#tick}. The result is the same as
+     * calling {@code FoodData.tick} {@code ticks} times.
+     *
+     * @param ticks  the number of times to tick this player's food data
+     */
+    public void tickFood(long ticks) {
+        tickFood(wrapped, ticks);
+    }
+
+    /**
+     * Ticks the food data of {@code player} {@code ticks} times. This is the static equivalent of
+     * {@link #tickFood(long)}, for hot paths that should not allocate a wrapper for each player.
+     *
+     * @param player  the player whose food data to tick
+     * @param ticks  the number of times to tick the food data
+     */
+    public static void tickFood(ServerPlayer player, long ticks) {
+        FoodTicks.tick(player, PlayerFood.INSTANCE, ticks);
+    }
+
     /** Ticks all MobEffects applied to this player. */
     public void tickEffects() {
-        try {
-            tickEffectsMethod.invoke(get());
+        ((LivingEntityInvoker) get()).betterdays$tickEffects();
+    }
+
+    /**
+     * Ticks all MobEffects applied to this player {@code ticks} times.
+     *
+     * <p>Runs of ticks on which no effect applies its tick, expires, or sends its periodic update
+     * are skipped over by shortening effect durations directly, so {@link #tickEffects()} is only
+     * called on ticks where something else happens. The result is the same as calling
+     * {@code tickEffects()} {@code ticks} times.
+     *
+     * @param ticks  the number of times to tick this player's effects
+     */
+    public void tickEffects(long ticks) {
+        tickEffects(wrapped, ticks);
+    }
+
+    /**
+     * Ticks all MobEffects applied to {@code player} {@code ticks} times. This is the static
+     * equivalent of {@link #tickEffects(long)}, for hot paths that should not allocate a wrapper for
+     * each player.
+     *
+     * @param player  the player whose effects to tick
+     * @param ticks  the number of times to tick the effects
+     */
+    public static void tickEffects(ServerPlayer player, long ticks) {
+        while (ticks > 0) {
+            int skipped = quietEffectTicks(player, (int) Math.min(ticks, Integer.MAX_VALUE));
+
+            if (skipped > 0) {
+                for (MobEffectInstance effect : player.getActiveEffects()) {
+                    shortenDuration(effect, skipped);
+                }
+                ticks -= skipped;
+            }
+
+            if (ticks > 0) {
+                ((LivingEntityInvoker) player).betterdays$tickEffects();
+                ticks--;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of upcoming calls to {@link #tickEffects()}, up to {@code limit}, that would
+     * do nothing but shorten the durations of the effects of {@code player}.
+     *
+     * @param player  the player whose effects to check
+     * @param limit  the largest number of ticks to count
+     * @return the number of quiet ticks
+     */
+    private static int quietEffectTicks(ServerPlayer player, int limit) {
+        int quiet = limit;
+
+        for (MobEffectInstance instance : player.getActiveEffects()) {
+            MobEffect effect = instance.getEffect().value();
+            int amplifier = instance.getAmplifier();
+
+            if (instance.isInfiniteDuration()) {
+                // Infinite effects are ticked by entity tick count, which does not advance here
+                if (effect.shouldApplyEffectTickThisTick(player.tickCount, amplifier)) {
+                    return 0;
+                }
+                continue;
+            }
+
+            // Only irregular effects are asked tick by tick, so the others need no predicate
+            int period = effectPeriod(effect, amplifier);
+            IntPredicate appliesAt = period == EffectTicks.IRREGULAR
+                    ? duration -> effect.shouldApplyEffectTickThisTick(duration, amplifier)
+                    : null;
+
+            quiet = EffectTicks.quietTicks(instance.getDuration(), period, appliesAt, quiet);
+
+            if (quiet == 0) {
+                return 0;
+            }
+        }
+
+        return quiet;
+    }
+
+    /** {@return the period of {@code effect} at {@code amplifier}, as inferred by {@link EffectTicks#period}} */
+    private static int effectPeriod(MobEffect effect, int amplifier) {
+        // Amplifiers are sent to clients as a byte, so they fit in 256 entries
+        int[] periods = EFFECT_PERIODS.computeIfAbsent(effect, key -> {
+            int[] unknown = new int[256];
+            Arrays.fill(unknown, UNKNOWN_PERIOD);
+            return unknown;
+        });
+        int index = amplifier & 0xFF;
+
+        if (periods[index] == UNKNOWN_PERIOD) {
+            periods[index] = EffectTicks.period(duration -> effect.shouldApplyEffectTickThisTick(duration, amplifier));
         }
-        catch (IllegalAccessException | InvocationTargetException e) {
-            return;
+
+        return periods[index];
+    }
+
+    /**
+     * Shortens the duration of {@code effect} and the effects hidden beneath it by {@code ticks},
+     * as {@code ticks} calls to {@code MobEffectInstance.tick} would.
+     */
+    private static void shortenDuration(MobEffectInstance effect, int ticks) {
+        MobEffectInstanceAccessor accessor = (MobEffectInstanceAccessor) effect;
+        MobEffectInstance hiddenEffect = accessor.betterdays$getHiddenEffect();
+
+        if (hiddenEffect != null) {
+            shortenDuration(hiddenEffect, ticks);
+        }
+
+        if (!effect.isInfiniteDuration()) {
+            accessor.betterdays$setDuration(effect.getDuration() - ticks);
         }
     }
 
-    /** Sends update packets to this player for each of their active mob effects. */
+    /**
+     * Sends this player the state of each of their active mob effects whose displayed duration has
+     * changed since it was last sent, bundled into a single packet.
+     */
     public void sendMobEffectUpdatePackets() {
-        for (MobEffectInstance e : get().getActiveEffects()) {
-            int id = get().getId();
-            ClientboundUpdateMobEffectPacket packet = new ClientboundUpdateMobEffectPacket(id, e, false);
-            get().connection.send(packet);
+        sendMobEffectUpdatePackets(wrapped);
+    }
+
+    /**
+     * Sends {@code player} the state of each of their active mob effects whose displayed duration,
+     * in whole seconds, has changed since it was last sent, bundled into a single packet. Infinite
+     * effects are left out since their duration never drifts from the client. This is the static
+     * equivalent of {@link #sendMobEffectUpdatePackets()}.
+     *
+     * @param player  the player to send the effects of
+     */
+    public static void sendMobEffectUpdatePackets(ServerPlayer player) {
+        List<Packet<? super ClientGamePacketListener>> packets = null;
+
+        for (MobEffectInstance effect : player.getActiveEffects()) {
+            if (effect.isInfiniteDuration()) {
+                continue;
+            }
+
+            EffectSyncedInstance synced = (EffectSyncedInstance) effect;
+            int second = effect.getDuration() / TICKS_PER_SECOND;
+
+            if (second != synced.betterdays$getSyncedSecond()) {
+                if (packets == null) {
+                    packets = new ArrayList<>();
+                }
+                packets.add(new ClientboundUpdateMobEffectPacket(player.getId(), effect, false));
+                synced.betterdays$setSyncedSecond(second);
+            }
         }
+
+        if (packets != null) {
+            player.connection.send(new ClientboundBundlePacket(packets));
+        }
+    }
+
+    /** Access to the food data of a player for {@link FoodTicks}. */
+    private static final class PlayerFood implements FoodTicks.Food<ServerPlayer> {
+
+        static final PlayerFood INSTANCE = new PlayerFood();
+
+        @Override
+        public void tick(ServerPlayer player) {
+            player.getFoodData().tick(player);
+        }
+
+        @Override
+        public float exhaustion(ServerPlayer player) {
+            return player.getFoodData().getExhaustionLevel();
+        }
+
+        @Override
+        public float saturation(ServerPlayer player) {
+            return player.getFoodData().getSaturationLevel();
+        }
+
+        @Override
+        public int foodLevel(ServerPlayer player) {
+            return player.getFoodData().getFoodLevel();
+        }
+
+        @Override
+        public int tickTimer(ServerPlayer player) {
+            return ((FoodDataAccessor) player.getFoodData()).betterdays$getTickTimer();
+        }
+
+        @Override
+        public void setTickTimer(ServerPlayer player, int tickTimer) {
+            ((FoodDataAccessor) player.getFoodData()).betterdays$setTickTimer(tickTimer);
+        }
+
+        @Override
+        public boolean naturalRegeneration(ServerPlayer player) {
+            return player.serverLevel().getGameRules().getBoolean(GameRules.RULE_NATURAL_REGENERATION);
+        }
+
+        @Override
+        public boolean isHurt(ServerPlayer player) {
+            return player.isHurt();
+        }
+
     }
 
 }
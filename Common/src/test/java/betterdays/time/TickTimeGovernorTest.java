@@ -0,0 +1,154 @@
+package betterdays.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link TickTimeGovernor} against a simulated server whose tick duration grows linearly with
+ * the time-speed, and checks that the average tick duration settles at the target, that any swings
+ * around the target die down, and that the throttle recovers once the load drops.
+ */
+class TickTimeGovernorTest {
+
+    private static final double TARGET_MSPT = 45D;
+    private static final double SMOOTHING = 0.2D;
+    private static final double SLEEP_SPEED = 110D;
+    // The number of ticks over which the largest distance from the target is compared
+    private static final int WINDOW = 40;
+
+    @Test
+    void convergesToTarget() {
+        // Base tick cost and cost per unit of time-speed, in milliseconds
+        double[][] costModels = {{10D, 0.5D}, {30D, 0.2D}, {5D, 2D}, {40D, 0.05D}};
+
+        for (double[] cost : costModels) {
+            TickTimeGovernor governor = new TickTimeGovernor();
+            Server server = new Server(cost[0], cost[1]);
+            String description = "base " + cost[0] + " ms, " + cost[1] + " ms per speed";
+
+            double equilibrium = (TARGET_MSPT - cost[0]) / cost[1];
+            double peak = 0D;
+            double lastSwing = Double.POSITIVE_INFINITY;
+            double swing = 0D;
+
+            for (int tick = 0; tick < 400; tick++) {
+                server.tick(governor, true);
+                peak = Math.max(peak, server.mspt);
+                swing = Math.max(swing, Math.abs(server.mspt - TARGET_MSPT));
+
+                if (tick % WINDOW == WINDOW - 1) {
+                    // Any oscillation around the target must die down, not persist or grow
+                    assertTrue(swing <= Math.max(lastSwing * 0.5D, 0.001D),
+                            description + ": swing of " + swing + " ms after " + lastSwing + " ms by tick " + tick);
+                    lastSwing = swing;
+                    swing = 0D;
+                }
+            }
+
+            assertEquals(TARGET_MSPT, governor.averageMspt(), TARGET_MSPT * 0.01D, description);
+            assertEquals(equilibrium, governor.apply(SLEEP_SPEED), equilibrium * 0.01D, description);
+            assertTrue(peak <= cost[0] + cost[1] * SLEEP_SPEED, description + ": peak " + peak);
+        }
+    }
+
+    @Test
+    void settlesWithinFewSeconds() {
+        TickTimeGovernor governor = new TickTimeGovernor();
+        Server server = new Server(10D, 0.5D);
+        int settledAt = -1;
+
+        for (int tick = 0; tick < 400; tick++) {
+            server.tick(governor, true);
+
+            boolean settled = Math.abs(governor.averageMspt() - TARGET_MSPT) < TARGET_MSPT * 0.05D;
+            if (settled && settledAt < 0) {
+                settledAt = tick;
+            } else if (!settled) {
+                settledAt = -1;
+            }
+        }
+
+        assertTrue(settledAt >= 0 && settledAt <= 100, "settled after " + settledAt + " ticks");
+    }
+
+    @Test
+    void recoversWhenLoadDrops() {
+        TickTimeGovernor governor = new TickTimeGovernor();
+        Server server = new Server(10D, 0.5D);
+
+        for (int tick = 0; tick < 400; tick++) {
+            server.tick(governor, true);
+        }
+
+        double throttled = governor.throttle();
+        server.costPerSpeed = 0.1D;
+
+        for (int tick = 0; tick < 400; tick++) {
+            double before = governor.throttle();
+            server.tick(governor, true);
+
+            assertTrue(governor.throttle() <= before * 1.05D + 1e-12D, "the throttle grew by more than 5% in a tick");
+        }
+
+        assertTrue(throttled < 0.7D, "throttle under load " + throttled);
+        assertEquals(1D, governor.throttle(), "the throttle should recover once the full speed fits the target");
+        assertTrue(governor.averageMspt() < TARGET_MSPT);
+    }
+
+    @Test
+    void neverThrottlesBelowVanillaSpeed() {
+        TickTimeGovernor governor = new TickTimeGovernor();
+        // Even vanilla speed is over the target, so no throttle can reach it
+        Server server = new Server(60D, 0.5D);
+
+        for (int tick = 0; tick < 1000; tick++) {
+            server.tick(governor, true);
+        }
+
+        assertEquals(TickTimeGovernor.MIN_THROTTLE, governor.throttle(), 1e-12D);
+        assertEquals(SLEEP_SPEED * TickTimeGovernor.MIN_THROTTLE, governor.apply(SLEEP_SPEED), 1e-12D);
+        assertEquals(1D, governor.apply(50D), "accelerated speeds are not throttled below vanilla speed");
+        assertEquals(0.5D, governor.apply(0.5D));
+    }
+
+    @Test
+    void resetsWhenNotThrottling() {
+        TickTimeGovernor governor = new TickTimeGovernor();
+        Server server = new Server(10D, 0.5D);
+
+        for (int tick = 0; tick < 100; tick++) {
+            server.tick(governor, true);
+        }
+
+        assertTrue(governor.throttle() < 1D);
+
+        server.tick(governor, false);
+        assertEquals(1D, governor.throttle());
+
+        governor.update(100_000_000L, true, 0D, SMOOTHING);
+        assertEquals(1D, governor.throttle(), "a target of 0 disables throttling");
+    }
+
+    /** A server whose tick duration is a base cost plus a cost per unit of time-speed. */
+    private static final class Server {
+
+        private final double baseCost;
+        private double costPerSpeed;
+        private double mspt;
+
+        Server(double baseCost, double costPerSpeed) {
+            this.baseCost = baseCost;
+            this.costPerSpeed = costPerSpeed;
+        }
+
+        void tick(TickTimeGovernor governor, boolean sleeping) {
+            double speed = sleeping ? governor.apply(SLEEP_SPEED) : 1D;
+            mspt = baseCost + costPerSpeed * speed;
+            governor.update((long) (mspt * 1_000_000D), sleeping, TARGET_MSPT, SMOOTHING);
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package betterdays.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks when {@link TimeSyncTracker} asks for the time to be sent, with the time-speed passed as
+ * both the speed and the client rate, as {@code TimeService} does for payload clients.
+ */
+class TimeSyncTrackerTest {
+
+    private static final int INTERVAL = 600;
+    private static final double MAX_DRIFT = 2D;
+
+    @Test
+    void firstTickIsSent() {
+        assertTrue(new TimeSyncTracker().shouldSend(0L, 0L, 1D, false, 1D, INTERVAL, MAX_DRIFT));
+    }
+
+    @Test
+    void steadySpeedIsSuppressedUntilKeepAlive() {
+        TimeSyncTracker tracker = new TimeSyncTracker();
+        double speed = 0.37D;
+        int sent = run(tracker, speed, 0L, INTERVAL * 10);
+
+        // One packet for the first tick, then one per keep-alive interval
+        assertEquals(10, sent);
+        assertEquals(10L, tracker.packetsSent());
+        assertEquals(INTERVAL * 10L - 10L, tracker.packetsSuppressed());
+    }
+
+    @Test
+    void speedChangeIsSent() {
+        TimeSyncTracker tracker = new TimeSyncTracker();
+        tracker.onSent(0L, 0L, 1D, false, 1D);
+
+        assertFalse(tracker.shouldSend(1L, 1L, 1D, false, 1D, INTERVAL, MAX_DRIFT));
+        assertTrue(tracker.shouldSend(1L, 1L, 2D, false, 2D, INTERVAL, MAX_DRIFT));
+    }
+
+    @Test
+    void sleepChangeIsSent() {
+        TimeSyncTracker tracker = new TimeSyncTracker();
+        tracker.onSent(0L, 0L, 1D, false, 1D);
+
+        assertTrue(tracker.shouldSend(1L, 1L, 1D, true, 1D, INTERVAL, MAX_DRIFT));
+    }
+
+    @Test
+    void driftIsSent() {
+        TimeSyncTracker tracker = new TimeSyncTracker();
+        tracker.onSent(0L, 0L, 1D, false, 1D);
+
+        assertFalse(tracker.shouldSend(10L, 12L, 1D, false, 1D, INTERVAL, MAX_DRIFT));
+        assertTrue(tracker.shouldSend(10L, 13L, 1D, false, 1D, INTERVAL, MAX_DRIFT));
+    }
+
+    @Test
+    void invalidateForcesSend() {
+        TimeSyncTracker tracker = new TimeSyncTracker();
+        tracker.onSent(0L, 0L, 1D, false, 1D);
+        tracker.invalidate();
+
+        assertTrue(tracker.shouldSend(1L, 1L, 1D, false, 1D, INTERVAL, MAX_DRIFT));
+    }
+
+    /**
+     * Advances a level at {@code speed} for {@code ticks} ticks, sending the time whenever the
+     * tracker asks for it.
+     *
+     * @return the number of times the time was sent
+     */
+    private static int run(TimeSyncTracker tracker, double speed, long startTime, int ticks) {
+        TimeAccumulator time = new TimeAccumulator().set(startTime, 0D);
+        int sent = 0;
+
+        for (long gameTime = 0; gameTime < ticks; gameTime++) {
+            long dayTime = time.add(speed).longValue();
+
+            if (tracker.shouldSend(gameTime, dayTime, speed, false, speed, INTERVAL, MAX_DRIFT)) {
+                tracker.onSent(gameTime, dayTime, speed, false, speed);
+                sent++;
+            } else {
+                tracker.onSuppressed();
+            }
+        }
+
+        return sent;
+    }
+
+}
@@ -0,0 +1,130 @@
+package betterdays.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@link WallClock} with a simulated clock to check how it catches up after the server falls
+ * behind, how much time it may owe, and how it starts over after a reset.
+ */
+class WallClockTest {
+
+    private static final double MAX_CATCH_UP = 4D;
+
+    private long now = 1_000_000_000L;
+
+    @Test
+    void firstTickPassesOneTick() {
+        WallClock clock = new WallClock(() -> now);
+
+        now += 10 * WallClock.NANOS_PER_TICK;
+        assertEquals(1D, clock.advance(MAX_CATCH_UP));
+        assertEquals(0D, clock.debt());
+
+        now += WallClock.NANOS_PER_TICK;
+        assertEquals(1D, clock.advance(MAX_CATCH_UP), 1e-12D);
+    }
+
+    @Test
+    void firstTickRespectsMaxTicks() {
+        WallClock clock = new WallClock(() -> now);
+
+        assertEquals(0.5D, clock.advance(0.5D));
+    }
+
+    @Test
+    void steadyServerPassesElapsedTime() {
+        WallClock clock = new WallClock(() -> now);
+        clock.advance(MAX_CATCH_UP);
+
+        // A server running at 10 ticks per second passes two ticks of time per tick
+        for (int tick = 0; tick < 100; tick++) {
+            now += 2 * WallClock.NANOS_PER_TICK;
+            assertEquals(2D, clock.advance(MAX_CATCH_UP), 1e-9D);
+        }
+
+        assertEquals(0D, clock.debt(), 1e-9D);
+    }
+
+    @Test
+    void lagSpikeIsCaughtUpGradually() {
+        WallClock clock = new WallClock(() -> now);
+        clock.advance(MAX_CATCH_UP);
+
+        // A 1 second pause owes 20 ticks, which are paid off at most 4 at a time
+        now += 20 * WallClock.NANOS_PER_TICK;
+        double passed = 0D;
+        int ticks = 0;
+
+        do {
+            double advanced = clock.advance(MAX_CATCH_UP);
+            assertEquals(Math.min(MAX_CATCH_UP, 20D - passed), advanced, 1e-9D, "tick " + ticks);
+
+            passed += advanced;
+            ticks++;
+        } while (clock.debt() > 0D);
+
+        assertEquals(20D, passed, 1e-9D);
+        assertEquals(5, ticks);
+    }
+
+    @Test
+    void catchUpKeepsPaceWithElapsedTime() {
+        WallClock clock = new WallClock(() -> now);
+        clock.advance(MAX_CATCH_UP);
+
+        now += 30 * WallClock.NANOS_PER_TICK;
+        double passed = 0D;
+
+        // The server now ticks at 20 per second, so the debt shrinks by 3 ticks per tick
+        for (int tick = 0; tick < 10; tick++) {
+            now += WallClock.NANOS_PER_TICK;
+            passed += clock.advance(MAX_CATCH_UP);
+            assertEquals(Math.max(0D, 30D - 3D * (tick + 1)), clock.debt(), 1e-9D, "tick " + tick);
+        }
+
+        assertEquals(40D, passed, 1e-9D, "all real time elapsed should have passed");
+    }
+
+    @Test
+    void debtIsCapped() {
+        WallClock clock = new WallClock(() -> now);
+        clock.advance(MAX_CATCH_UP);
+
+        // Ten minutes without a tick
+        now += 12_000L * WallClock.NANOS_PER_TICK;
+
+        assertEquals(MAX_CATCH_UP, clock.advance(MAX_CATCH_UP));
+        assertEquals(WallClock.MAX_DEBT_TICKS - MAX_CATCH_UP, clock.debt(), 1e-9D);
+
+        double passed = MAX_CATCH_UP;
+
+        while (clock.debt() > 0D) {
+            passed += clock.advance(MAX_CATCH_UP);
+        }
+
+        assertEquals(WallClock.MAX_DEBT_TICKS, passed, 1e-9D);
+    }
+
+    @Test
+    void resetForgetsDebt() {
+        WallClock clock = new WallClock(() -> now);
+        clock.advance(MAX_CATCH_UP);
+
+        now += 100 * WallClock.NANOS_PER_TICK;
+        clock.advance(MAX_CATCH_UP);
+        clock.reset();
+
+        assertEquals(0D, clock.debt());
+
+        // Time elapsed while reset is not owed either
+        now += 100 * WallClock.NANOS_PER_TICK;
+        assertEquals(1D, clock.advance(MAX_CATCH_UP));
+        assertEquals(0D, clock.debt());
+
+        now += WallClock.NANOS_PER_TICK / 2;
+        assertEquals(0.5D, clock.advance(MAX_CATCH_UP), 1e-9D);
+    }
+
+}
@@ -0,0 +1,122 @@
+package betterdays.time.effects;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link BlockEntityTickScheduler} against a simulated clock on which each block entity tick
+ * takes a fixed amount of time.
+ */
+class BlockEntityTickSchedulerTest {
+
+    private static final long NANOS_PER_ENTITY = 1_000L;
+
+    @Test
+    void paysDebtWithoutBudget() {
+        FakePass pass = new FakePass(100);
+        BlockEntityTickScheduler scheduler = new BlockEntityTickScheduler(pass::now);
+
+        assertEquals(5L, scheduler.run(0L, 5L, 0L, 1000L, pass));
+        assertEquals(500L, pass.ticked);
+        assertEquals(0L, scheduler.debt());
+        assertEquals(1.0D, scheduler.achievedRatio());
+    }
+
+    @Test
+    void stopsPartwayThroughPassWhenBudgetRunsOut() {
+        FakePass pass = new FakePass(100);
+        BlockEntityTickScheduler scheduler = new BlockEntityTickScheduler(pass::now);
+
+        // The budget covers 60 block entities, which is checked after batches of 16
+        long budget = 60 * NANOS_PER_ENTITY;
+
+        assertEquals(0L, scheduler.run(0L, 1L, budget, 1000L, pass));
+        assertEquals(64L, pass.ticked);
+        assertEquals(64, scheduler.cursor());
+        assertEquals(1L, scheduler.debt());
+
+        // The pass resumes at the block entity where it stopped and completes on the next tick
+        assertEquals(1L, scheduler.run(1L, 0L, budget, 1000L, pass));
+        assertEquals(100L, pass.ticked);
+        assertEquals(0, scheduler.cursor());
+        assertEquals(0L, scheduler.debt());
+
+        for (int count : pass.counts) {
+            assertEquals(1, count);
+        }
+    }
+
+    @Test
+    void staysWithinBudgetAndCarriesDebtUpToMaximum() {
+        FakePass pass = new FakePass(100);
+        BlockEntityTickScheduler scheduler = new BlockEntityTickScheduler(pass::now);
+        long budget = 250 * NANOS_PER_ENTITY;
+
+        for (long gameTime = 0; gameTime < 100; gameTime++) {
+            long start = pass.now();
+            scheduler.run(gameTime, 10L, budget, 30L, pass);
+
+            // The budget is checked after each batch, so a tick overshoots by less than one batch
+            assertTrue(pass.now() - start < budget + BlockEntityTickScheduler.BATCH_SIZE * NANOS_PER_ENTITY);
+        }
+
+        assertEquals(30L, scheduler.debt());
+        assertEquals(1000L, scheduler.requestedTicks());
+        assertEquals(pass.ticked / 100, scheduler.achievedTicks());
+        assertEquals(0.256D, scheduler.achievedRatio(), 0.01D);
+    }
+
+    @Test
+    void forgetsDebtAndPassAfterGap() {
+        FakePass pass = new FakePass(100);
+        BlockEntityTickScheduler scheduler = new BlockEntityTickScheduler(pass::now);
+
+        scheduler.run(0L, 3L, 40 * NANOS_PER_ENTITY, 1000L, pass);
+        assertEquals(3L, scheduler.debt());
+
+        scheduler.run(5L, 0L, 40 * NANOS_PER_ENTITY, 1000L, pass);
+        assertEquals(0L, scheduler.debt());
+        assertEquals(0, scheduler.cursor());
+    }
+
+    @Test
+    void emptyPassCompletesImmediately() {
+        FakePass pass = new FakePass(0);
+        BlockEntityTickScheduler scheduler = new BlockEntityTickScheduler(pass::now);
+
+        assertEquals(7L, scheduler.run(0L, 7L, 1L, 1000L, pass));
+        assertEquals(0L, scheduler.debt());
+    }
+
+    /** Block entities that advance a simulated clock as they tick. */
+    private static final class FakePass implements BlockEntityTickScheduler.Pass {
+
+        private final int[] counts;
+        private long nanos;
+        private long ticked;
+
+        FakePass(int size) {
+            this.counts = new int[size];
+        }
+
+        long now() {
+            return nanos;
+        }
+
+        @Override
+        public int size() {
+            return counts.length;
+        }
+
+        @Override
+        public void tick(int index) {
+            counts[index]++;
+            ticked++;
+            nanos += NANOS_PER_ENTITY;
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package betterdays.time.engine;
+
+/** A level reduced to its day time and player counts, for driving a {@link TimeEngine} in tests. */
+final class FakeLevel implements DayClock, PlayerCensus {
+
+    long dayTime;
+    int activePlayers;
+    int sleepingPlayers;
+
+    FakeLevel(long dayTime, int activePlayers) {
+        this.dayTime = dayTime;
+        this.activePlayers = activePlayers;
+    }
+
+    @Override
+    public long getDayTime() {
+        return dayTime;
+    }
+
+    @Override
+    public void setDayTime(long dayTime) {
+        this.dayTime = dayTime;
+    }
+
+    @Override
+    public int amountSleeping() {
+        return sleepingPlayers;
+    }
+
+    @Override
+    public int amountActive() {
+        return activePlayers;
+    }
+
+}
@@ -0,0 +1,95 @@
+package betterdays.time.engine;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import betterdays.time.TickTimeGovernor;
+import betterdays.time.Time;
+import betterdays.time.TimeAccumulator;
+import betterdays.time.TimeSpeedSchedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link TimeEngine#fastForward(long, EffectSink)} lands where ticking the engine one
+ * tick at a time would have, for random schedules, start times, tick counts and sleeping players.
+ */
+class FastForwardPropertyTest {
+
+    private static final int CASES = 500;
+
+    // Iterative ticking sums one rounded step per tick, so allow for rounding that grows with the run
+    private static final double TOLERANCE_PER_TICK = 1e-9D;
+
+    @Test
+    void fastForwardMatchesIterativeTicking() {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+
+        for (int i = 0; i < CASES; i++) {
+            long seed = random.nextLong();
+            check(seed, new SplittableRandom(seed));
+        }
+    }
+
+    private static void check(long seed, SplittableRandom random) {
+        // The config allows sleep speeds of 0, which hold time still while players sleep
+        boolean stillSleep = random.nextInt(8) == 0;
+        TimeSpeedSchedule schedule = new TimeSpeedSchedule(true,
+                23000D + random.nextInt(1000), 12000D + random.nextInt(1000),
+                0.25D + random.nextDouble() * 3.75D, 0.25D + random.nextDouble() * 3.75D,
+                stillSleep ? 0D : 1D + random.nextDouble() * 9D, stillSleep ? 0D : 10D + random.nextDouble() * 100D,
+                random.nextBoolean() ? -1D : stillSleep ? 0D : 20D + random.nextDouble() * 80D, random.nextDouble());
+        long start = random.nextLong(0L, 10L * Time.DAY_TICKS);
+        double fraction = random.nextDouble();
+        int activePlayers = 1 + random.nextInt(8);
+        int sleepingPlayers = random.nextInt(activePlayers + 1);
+        long ticks = random.nextLong(0L, 3L * Time.DAY_TICKS);
+
+        Run iterative = new Run(schedule, start, fraction, activePlayers, sleepingPlayers);
+        for (long t = 0; t < ticks; t++) {
+            iterative.engine.tick(1D, iterative);
+        }
+
+        Run skipped = new Run(schedule, start, fraction, activePlayers, sleepingPlayers);
+        skipped.engine.fastForward(ticks, skipped);
+
+        String description = "seed " + seed + ", " + ticks + " ticks from " + start + " with "
+                + sleepingPlayers + "/" + activePlayers + " sleeping";
+        Time expected = iterative.engine.getDayTime();
+        Time actual = skipped.engine.getDayTime();
+
+        assertEquals(expected.longValue(), actual.longValue(), description);
+        assertEquals(expected.fractionalValue(), actual.fractionalValue(),
+                TOLERANCE_PER_TICK * ticks + 1e-9D, description);
+        assertEquals(iterative.mornings, skipped.mornings, description);
+        assertEquals(iterative.level.sleepingPlayers, skipped.level.sleepingPlayers, description);
+    }
+
+    /** An engine over its own level, which wakes its players at morning as the game does. */
+    private static final class Run implements EffectSink {
+
+        private final FakeLevel level;
+        private final TimeEngine engine;
+        private int mornings;
+
+        Run(TimeSpeedSchedule schedule, long start, double fraction, int activePlayers, int sleepingPlayers) {
+            level = new FakeLevel(start, activePlayers);
+            level.sleepingPlayers = sleepingPlayers;
+            engine = new TimeEngine(level, level, new TickTimeGovernor(), () -> schedule);
+            engine.setDayTime(new Time(start, fraction));
+        }
+
+        @Override
+        public void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta) {
+        }
+
+        @Override
+        public void onMorning() {
+            level.sleepingPlayers = 0;
+            mornings++;
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package betterdays.time.engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import betterdays.time.TickTimeGovernor;
+import betterdays.time.Time;
+import betterdays.time.TimeAccumulator;
+import betterdays.time.TimeSpeedSchedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link TimeEngine} headless for millions of ticks under scripted sleep patterns, and compares
+ * it against golden traces generated by {@link ReferenceDayCycle}, the iterative day cycle the engine
+ * was extracted from. Each scenario reports the cost of the engine in nanoseconds and bytes per tick.
+ */
+class HeadlessSimulationTest {
+
+    private static final int TICKS = 1_000_000;
+    // The number of ticks between the points of a trace
+    private static final int TRACE_INTERVAL = 1000;
+
+    // The reference sums one rounded immutable step per tick, so allow for rounding that grows with the run
+    private static final double TOLERANCE_PER_TICK = 1e-9D;
+
+    private static final ReferenceDayCycle.Settings DEFAULT = new ReferenceDayCycle.Settings(true, 23500D, 12500D,
+            1D, 1D, 1D, 110D, -1D, 0.3D);
+    private static final ReferenceDayCycle.Settings CUSTOM = new ReferenceDayCycle.Settings(true, 23000D, 12800D,
+            2D, 0.5D, 3D, 60D, 80D, 0.7D);
+
+    // Vanilla lets players sleep from this time-of-day until just before morning
+    private static final double BEDTIME = 12542D;
+
+    @Test
+    void nobodySleeps() {
+        simulate("nobody sleeps", CUSTOM, 0L, 4, (tick, timeOfDay) -> 0);
+    }
+
+    @Test
+    void everyoneSleepsAtDusk() {
+        simulate("everyone sleeps at dusk", DEFAULT, 0L, 4, (tick, timeOfDay) -> 4);
+        simulate("everyone sleeps at dusk, custom", CUSTOM, 0L, 4, (tick, timeOfDay) -> 4);
+    }
+
+    @Test
+    void oneOfFourSleeps() {
+        simulate("one of four sleeps", DEFAULT, 0L, 4, (tick, timeOfDay) -> 1);
+    }
+
+    @Test
+    void playersGetInAndOutOfBed() {
+        // The number of sleepers changes every 37 ticks, and sometimes nobody is in bed
+        simulate("restless sleepers", CUSTOM, 0L, 4, (tick, timeOfDay) -> (int) (tick / 37 % 5));
+    }
+
+    @Test
+    void lateSleeperOnBusyServer() {
+        // Half of a busy server goes to bed only an hour before morning
+        simulate("late sleepers", DEFAULT, 0L, 20, (tick, timeOfDay) -> timeOfDay > 22500D ? 10 : 0);
+    }
+
+    @Test
+    void timeWrapsAroundOverflowThreshold() {
+        simulate("overflow", CUSTOM, 11184L * Time.LUNAR_CYCLE_TICKS - 3L * Time.DAY_TICKS, 2,
+                (tick, timeOfDay) -> 2);
+    }
+
+    private static void simulate(String name, ReferenceDayCycle.Settings settings, long start, int activePlayers,
+            SleepScript script) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        boolean measureAllocations = threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled();
+
+        ReferenceDayCycle reference = new ReferenceDayCycle(settings, new Time(start), activePlayers);
+        long referenceStart = System.nanoTime();
+        Trace golden = new Trace();
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            double timeOfDay = reference.time().timeOfDay().doubleValue();
+            reference.sleepingPlayers = sleepers(script, tick, timeOfDay, reference.sleepingPlayers);
+            reference.tick();
+
+            if (tick % TRACE_INTERVAL == TRACE_INTERVAL - 1) {
+                golden.add(reference.time().longValue(), reference.time().fractionalValue(), reference.mornings);
+            }
+        }
+
+        long referenceNanos = System.nanoTime() - referenceStart;
+
+        Simulation simulation = new Simulation(settings.schedule(), start, activePlayers);
+        Trace trace = new Trace();
+        long allocated = 0L;
+        long engineNanos = 0L;
+
+        for (int tick = 0; tick < TICKS; tick += TRACE_INTERVAL) {
+            long allocatedBefore = measureAllocations ? threads.getCurrentThreadAllocatedBytes() : 0L;
+            long engineStart = System.nanoTime();
+
+            simulation.run(script, tick, TRACE_INTERVAL);
+
+            engineNanos += System.nanoTime() - engineStart;
+            allocated += measureAllocations ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : 0L;
+
+            Time time = simulation.engine.getDayTime();
+            trace.add(time.longValue(), time.fractionalValue(), simulation.mornings);
+        }
+
+        System.out.printf(Locale.ROOT,
+                "%-32s %8d ticks, %6d mornings, engine %6.1f ns/tick %7.4f B/tick, reference %6.1f ns/tick%n",
+                name, TICKS, simulation.mornings, (double) engineNanos / TICKS, (double) allocated / TICKS,
+                (double) referenceNanos / TICKS);
+
+        golden.assertMatches(trace, name);
+
+        // Reading the allocation counter itself can allocate a little, but an allocation on every tick would show
+        assertTrue(!measureAllocations || (double) allocated / TICKS < 1D,
+                name + ": the engine allocated " + allocated + " bytes over " + TICKS + " ticks");
+    }
+
+    /** Players go to bed at {@link #BEDTIME} in the numbers the script asks for, and only get up at morning. */
+    private static int sleepers(SleepScript script, long tick, double timeOfDay, int sleeping) {
+        return timeOfDay >= BEDTIME ? script.sleepers(tick, timeOfDay) : sleeping;
+    }
+
+    /** Decides how many players are in bed on a tick of the night. */
+    @FunctionalInterface
+    private interface SleepScript {
+
+        int sleepers(long tick, double timeOfDay);
+
+    }
+
+    /** A headless level driven by a {@link TimeEngine}, whose players are woken at morning as the game does. */
+    private static final class Simulation implements EffectSink {
+
+        private final FakeLevel level;
+        private final TimeEngine engine;
+        private long mornings;
+
+        Simulation(TimeSpeedSchedule schedule, long start, int activePlayers) {
+            level = new FakeLevel(start, activePlayers);
+            engine = new TimeEngine(level, level, new TickTimeGovernor(), () -> schedule);
+        }
+
+        void run(SleepScript script, long firstTick, int ticks) {
+            for (long tick = firstTick; tick < firstTick + ticks; tick++) {
+                level.sleepingPlayers = sleepers(script, tick, engine.getTimeOfDay(), level.sleepingPlayers);
+                engine.tick(1D, this);
+            }
+        }
+
+        @Override
+        public void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta) {
+        }
+
+        @Override
+        public void onMorning() {
+            level.sleepingPlayers = 0;
+            mornings++;
+        }
+
+    }
+
+    /** The time and the number of mornings every {@link #TRACE_INTERVAL} ticks. */
+    private static final class Trace {
+
+        private final List<Point> points = new ArrayList<>();
+
+        void add(long time, double fraction, long mornings) {
+            points.add(new Point(time, fraction, mornings));
+        }
+
+        void assertMatches(Trace actual, String name) {
+            assertEquals(points.size(), actual.points.size(), name);
+
+            for (int i = 0; i < points.size(); i++) {
+                long tick = (long) (i + 1) * TRACE_INTERVAL;
+                String description = name + ", tick " + tick;
+                Point expected = points.get(i);
+                Point point = actual.points.get(i);
+
+                assertEquals(expected.time + expected.fraction, point.time + point.fraction,
+                        TOLERANCE_PER_TICK * tick + 1e-9D, description);
+                assertEquals(expected.mornings, point.mornings, description + ": mornings");
+            }
+        }
+
+        private record Point(long time, double fraction, long mornings) {}
+
+    }
+
+}
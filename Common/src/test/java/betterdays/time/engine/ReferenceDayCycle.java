@@ -0,0 +1,129 @@
+package betterdays.time.engine;
+
+import betterdays.time.Time;
+import betterdays.time.TimeSpeedSchedule;
+import betterdays.utils.MathUtils;
+
+/**
+ * The day cycle as {@code TimeService} computed it before {@link TimeEngine} was extracted: one
+ * immutable {@link Time} per step, and the sleep time-speed worked out from the sleep ratio on every
+ * tick. It is slow, but it is the behaviour the engine must keep, so the simulator uses it to
+ * generate the golden traces the engine is compared against.
+ */
+final class ReferenceDayCycle {
+
+    // The largest number of lunar cycles that can be stored in an int
+    private static final long OVERFLOW_THRESHOLD = 11184L * Time.LUNAR_CYCLE_TICKS;
+
+    private final Settings settings;
+    private final Time dayStart;
+    private final Time nightStart;
+
+    private Time time;
+    int activePlayers;
+    int sleepingPlayers;
+    long mornings;
+
+    ReferenceDayCycle(Settings settings, Time start, int activePlayers) {
+        this.settings = settings;
+        this.dayStart = new Time(settings.dayStart()).timeOfDay();
+        this.nightStart = new Time(settings.nightStart()).timeOfDay();
+        this.time = start;
+        this.activePlayers = activePlayers;
+    }
+
+    Time time() {
+        return time;
+    }
+
+    /** Advances time by one tick, completing the sleep cycle if morning is reached. */
+    void tick() {
+        Time oldTime = time;
+        Time timeDelta = new Time(getTimeSpeed(time));
+        timeDelta = correctForOvershoot(time, timeDelta);
+        time = time.add(timeDelta);
+
+        if (settings.sleepEnabled() && !allAwake() && Time.crossedMorning(oldTime, time)) {
+            sleepingPlayers = 0;
+            mornings++;
+        }
+
+        if (time.longValue() > OVERFLOW_THRESHOLD) {
+            time = new Time(time.longValue() - OVERFLOW_THRESHOLD, time.fractionalValue());
+        }
+    }
+
+    private Time correctForOvershoot(Time time, Time timeDelta) {
+        Time nextTime = time.add(timeDelta);
+        Time timeOfDay = time.timeOfDay();
+        Time nextTimeOfDay = nextTime.timeOfDay();
+
+        if (allAwake()) {
+            // day to night transition
+            if (nightStart.betweenMod(timeOfDay, nextTimeOfDay)) {
+                double nextTimeSpeed = getTimeSpeed(nextTime);
+                Time timeUntilBreakpoint = nightStart.subtract(timeOfDay);
+                double breakpointRatio = 1 - timeUntilBreakpoint.divide(timeDelta);
+
+                return timeUntilBreakpoint.add(nextTimeSpeed * breakpointRatio);
+            }
+
+            // night to day transition
+            if (dayStart.betweenMod(timeOfDay, nextTimeOfDay)) {
+                double nextTimeSpeed = getTimeSpeed(nextTime);
+                Time timeUntilBreakpoint = dayStart.subtract(timeOfDay);
+                double breakpointRatio = 1 - timeUntilBreakpoint.divide(timeDelta);
+
+                return timeUntilBreakpoint.add(nextTimeSpeed * breakpointRatio);
+            }
+        } else {
+            // morning transition
+            Time timeUntilMorning = Time.DAY_LENGTH.subtract(timeOfDay);
+            if (timeUntilMorning.compareTo(timeDelta) < 0) {
+                double nextTimeSpeed = settings.daySpeed();
+                double breakpointRatio = 1 - timeUntilMorning.divide(timeDelta);
+
+                return timeUntilMorning.add(nextTimeSpeed * breakpointRatio);
+            }
+        }
+
+        return timeDelta;
+    }
+
+    private double getTimeSpeed(Time time) {
+        if (!settings.sleepEnabled() || allAwake()) {
+            Time timeOfDay = time.timeOfDay();
+
+            if (timeOfDay.equals(dayStart) || timeOfDay.betweenMod(dayStart, nightStart)) {
+                return settings.daySpeed();
+            } else {
+                return settings.nightSpeed();
+            }
+        }
+
+        if (sleepingPlayers == activePlayers && settings.sleepSpeedAll() >= 0) {
+            return settings.sleepSpeedAll();
+        }
+
+        double sleepRatio = (double) sleepingPlayers / activePlayers;
+        double speedRatio = MathUtils.normalizedTunableSigmoid(sleepRatio, settings.sleepSpeedCurve());
+
+        return MathUtils.lerp(speedRatio, settings.sleepSpeedMin(), settings.sleepSpeedMax());
+    }
+
+    private boolean allAwake() {
+        return sleepingPlayers == 0;
+    }
+
+    /** The config values that shape the day cycle, as set in the common config. */
+    record Settings(boolean sleepEnabled, double dayStart, double nightStart, double daySpeed, double nightSpeed,
+            double sleepSpeedMin, double sleepSpeedMax, double sleepSpeedAll, double sleepSpeedCurve) {
+
+        TimeSpeedSchedule schedule() {
+            return new TimeSpeedSchedule(sleepEnabled, dayStart, nightStart, daySpeed, nightSpeed, sleepSpeedMin,
+                    sleepSpeedMax, sleepSpeedAll, sleepSpeedCurve);
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package betterdays.time.engine;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import betterdays.time.TickTimeGovernor;
+import betterdays.time.TimeAccumulator;
+import betterdays.time.TimeSpeedSchedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the zero-allocation steady state of the day-advance path: once warmed up, ticking the
+ * engine through days, nights, sleep and mornings must not allocate on the heap.
+ */
+class TimeEngineAllocationTest {
+
+    private static final TimeSpeedSchedule SCHEDULE =
+            new TimeSpeedSchedule(true, 23500D, 12500D, 2D, 0.5D, 1D, 110D, -1D, 0.3D);
+    private static final int ATTEMPTS = 3;
+
+    @Test
+    void steadyStateTickDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        FakeLevel level = new FakeLevel(0L, 4);
+        TickTimeGovernor governor = new TickTimeGovernor();
+        TimeEngine engine = new TimeEngine(level, level, governor, () -> SCHEDULE);
+        SleepingSink sink = new SleepingSink(level);
+
+        // Warm up so that class loading and JIT compilation are not counted
+        run(engine, governor, sink, 200_000);
+
+        long overhead = -threads.getCurrentThreadAllocatedBytes() + threads.getCurrentThreadAllocatedBytes();
+        long allocated = Long.MAX_VALUE;
+
+        // A late JIT recompilation can allocate a few bytes once, so measure a few runs and keep the
+        // best. An allocation on every tick would show up in all of them.
+        for (int attempt = 0; attempt < ATTEMPTS && allocated != 0; attempt++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            run(engine, governor, sink, 100_000);
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before - overhead);
+        }
+
+        assertEquals(0L, allocated, "bytes allocated by 100,000 ticks");
+        assertTrue(sink.mornings > 0, "the run should have crossed a morning");
+    }
+
+    private static void run(TimeEngine engine, TickTimeGovernor governor, SleepingSink sink, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            governor.update(40_000_000L + (i % 7) * 5_000_000L, sink.level.sleepingPlayers > 0, 45D, 0.2D);
+            engine.tick(1D, sink);
+        }
+    }
+
+    /** Sends players to bed every night and wakes them at morning, like a busy server. */
+    private static final class SleepingSink implements EffectSink {
+
+        private final FakeLevel level;
+        private int mornings;
+
+        SleepingSink(FakeLevel level) {
+            this.level = level;
+        }
+
+        @Override
+        public void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta) {
+            if (level.sleepingPlayers == 0 && dayTime.timeOfDay() >= 13000D) {
+                level.sleepingPlayers = 3;
+            }
+        }
+
+        @Override
+        public void onMorning() {
+            level.sleepingPlayers = 0;
+            mornings++;
+        }
+
+    }
+
+}
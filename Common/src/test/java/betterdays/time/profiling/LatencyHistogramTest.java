@@ -0,0 +1,95 @@
+package betterdays.time.profiling;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link LatencyHistogram} percentiles bound the exact percentiles of the recorded
+ * durations from above, to within the 12.5% its buckets promise.
+ */
+class LatencyHistogramTest {
+
+    private static final double[] PERCENTILES = {0D, 1D, 25D, 50D, 90D, 99D, 99.9D, 100D};
+
+    @Test
+    void smallValuesAreExact() {
+        for (long value = 0; value < 8; value++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(value);
+
+            assertEquals(value, histogram.percentile(50), "percentile of " + value);
+        }
+    }
+
+    @Test
+    void percentilesBoundExactPercentiles() {
+        SplittableRandom random = new SplittableRandom(20241017L);
+
+        for (int run = 0; run < 200; run++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            long[] values = new long[1 + random.nextInt(2000)];
+
+            for (int i = 0; i < values.length; i++) {
+                // Spread the durations from nanoseconds to seconds, like real tick phases
+                values[i] = (long) Math.pow(10D, random.nextDouble(0D, 9.5D));
+                histogram.record(values[i]);
+            }
+
+            Arrays.sort(values);
+
+            for (double percentile : PERCENTILES) {
+                int rank = (int) Math.max(1, Math.ceil(values.length * percentile / 100D));
+                long exact = values[rank - 1];
+                long bound = histogram.percentile(percentile);
+                String description = "run " + run + ", p" + percentile + " of " + values.length + " values";
+
+                assertTrue(bound >= exact, description + ": " + bound + " is below " + exact);
+                assertTrue(bound <= exact * 1.125D, description + ": " + bound + " is more than 12.5% above " + exact);
+            }
+
+            assertEquals(values[values.length - 1], histogram.max());
+            assertEquals(values[values.length - 1], histogram.percentile(100));
+        }
+    }
+
+    @Test
+    void summaryStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.count());
+        assertEquals(0D, histogram.mean());
+        assertEquals(0L, histogram.percentile(99));
+
+        histogram.record(1_000L);
+        histogram.record(3_000L);
+        histogram.record(-50L);
+
+        assertEquals(3L, histogram.count());
+        assertEquals(4_000L, histogram.total());
+        assertEquals(4_000D / 3D, histogram.mean(), 1e-9D);
+        assertEquals(3_000L, histogram.max());
+        assertEquals(0L, histogram.percentile(1), "negative durations are counted as 0");
+
+        histogram.reset();
+
+        assertEquals(0L, histogram.count());
+        assertEquals(0L, histogram.total());
+        assertEquals(0L, histogram.max());
+        assertEquals(0L, histogram.percentile(50));
+    }
+
+    @Test
+    void largestValueHasABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.percentile(50));
+    }
+
+}
@@ -0,0 +1,123 @@
+package betterdays.time.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that {@link TickProfiler} only records while a session is running, that its report adds
+ * up what was recorded, and that recording does not allocate.
+ */
+class TickProfilerTest {
+
+    private static final TickProfiler.Phase[] PHASES = TickProfiler.Phase.values();
+    private static final int ATTEMPTS = 3;
+
+    @AfterEach
+    void stopSession() {
+        TickProfiler.stop();
+    }
+
+    @Test
+    void recordsNothingWithoutASession() {
+        TickProfiler.start(List.of());
+        TickProfiler.stop();
+
+        assertFalse(TickProfiler.isRunning());
+        assertEquals(0L, TickProfiler.begin());
+
+        TickProfiler.record(TickProfiler.Phase.TICK, System.nanoTime());
+        TickProfiler.recordTick(1D, 1D, 2, 1D);
+        TickProfiler.recordBroadcast(3, 4);
+
+        assertEquals(0L, count(TickProfiler.Phase.TICK));
+        assertTrue(TickProfiler.report().contains("ticks 0, speed requested 0.00, achieved 0.00"));
+        assertTrue(TickProfiler.report().contains("packets: payload 0, vanilla 0"));
+    }
+
+    @Test
+    void reportAddsUpRecordedData() {
+        TickProfiler.start(List.of());
+
+        for (int i = 0; i < 10; i++) {
+            long start = TickProfiler.begin();
+            assertTrue(start != 0L);
+
+            TickProfiler.record(TickProfiler.Phase.TICK, start);
+            TickProfiler.record(TickProfiler.Phase.BROADCAST, start);
+            TickProfiler.recordTick(i % 2 == 0 ? 1D : 3D, 2D, i, i < 5 ? 1D : 0.5D);
+            TickProfiler.recordBroadcast(2, 1);
+        }
+
+        // A phase that started before the session is not recorded
+        TickProfiler.record(TickProfiler.Phase.EFFECTS, 0L);
+
+        List<String> report = TickProfiler.report();
+
+        assertEquals(10L, count(TickProfiler.Phase.TICK));
+        assertEquals(10L, count(TickProfiler.Phase.BROADCAST));
+        assertEquals(0L, count(TickProfiler.Phase.EFFECTS));
+        assertTrue(report.contains("ticks 10, speed requested 2.00, achieved 2.00"), report::toString);
+        assertTrue(report.contains("packets: payload 20, vanilla 10"), report::toString);
+        assertTrue(report.contains("sleepers: mean 4.5, max 9"), report::toString);
+        assertTrue(report.contains("throttle: mean 0.75, min 0.50"), report::toString);
+
+        // Starting a new session discards the data of the last one
+        TickProfiler.start(List.of());
+
+        assertEquals(0L, count(TickProfiler.Phase.TICK));
+    }
+
+    @Test
+    void recordingDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        TickProfiler.start(List.of());
+
+        // Warm up so that class loading and JIT compilation are not counted
+        record(200_000);
+
+        long overhead = -threads.getCurrentThreadAllocatedBytes() + threads.getCurrentThreadAllocatedBytes();
+        long allocated = Long.MAX_VALUE;
+
+        for (int attempt = 0; attempt < ATTEMPTS && allocated != 0; attempt++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            record(100_000);
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before - overhead);
+        }
+
+        assertEquals(0L, allocated, "bytes allocated by recording 100,000 ticks");
+    }
+
+    private static void record(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            long start = TickProfiler.begin();
+
+            for (TickProfiler.Phase phase : PHASES) {
+                TickProfiler.record(phase, start);
+            }
+
+            TickProfiler.recordTick(110D, 55D, i % 4, 0.5D);
+            TickProfiler.recordBroadcast(1, 0);
+        }
+    }
+
+    /** {@return the count column of the report row for {@code phase}} */
+    private static long count(TickProfiler.Phase phase) {
+        // The header row comes first, then a row for each phase in order
+        String[] columns = TickProfiler.report().get(1 + phase.ordinal()).trim().split("\\s+");
+
+        return Long.parseLong(columns[1]);
+    }
+
+}
@@ -0,0 +1,96 @@
+package betterdays.utils;
+
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test of {@link EffectTicks#quietTicks} against counting quiet ticks one tick at a
+ * time, as {@code ServerPlayerWrapper} did before, for effects modelled on the vanilla ones.
+ */
+class EffectTicksTest {
+
+    private static final int CASES = 20_000;
+
+    /** The {@code shouldApplyEffectTickThisTick} of vanilla and vanilla-like effects, by amplifier. */
+    private static final Effect[] EFFECTS = {
+            new Effect("speed", amplifier -> duration -> false),
+            new Effect("regeneration", amplifier -> periodic(50, amplifier)),
+            new Effect("poison", amplifier -> periodic(25, amplifier)),
+            new Effect("wither", amplifier -> periodic(40, amplifier)),
+            new Effect("hunger", amplifier -> duration -> true),
+            new Effect("saturation", amplifier -> duration -> duration >= 1),
+            new Effect("raid omen", amplifier -> duration -> duration == 1),
+            new Effect("modded", amplifier -> duration -> duration % 7 == 3 || duration % 97 == 0)
+    };
+
+    @Test
+    void periodsOfVanillaEffects() {
+        assertEquals(EffectTicks.NEVER, EffectTicks.period(EFFECTS[0].appliesAt(0)));
+        assertEquals(50, EffectTicks.period(EFFECTS[1].appliesAt(0)));
+        assertEquals(12, EffectTicks.period(EFFECTS[2].appliesAt(1)));
+        assertEquals(1, EffectTicks.period(EFFECTS[3].appliesAt(6)));
+        assertEquals(1, EffectTicks.period(EFFECTS[4].appliesAt(0)));
+        assertEquals(1, EffectTicks.period(EFFECTS[5].appliesAt(0)));
+        assertEquals(EffectTicks.IRREGULAR, EffectTicks.period(EFFECTS[6].appliesAt(0)));
+        assertEquals(EffectTicks.IRREGULAR, EffectTicks.period(EFFECTS[7].appliesAt(0)));
+    }
+
+    @Test
+    void quietTicksMatchIterativeCount() {
+        SplittableRandom random = new SplittableRandom(0xEFFEC7L);
+
+        for (int i = 0; i < CASES; i++) {
+            Effect effect = EFFECTS[random.nextInt(EFFECTS.length)];
+            int amplifier = random.nextInt(8);
+            int duration = random.nextInt(4) == 0 ? 1 + random.nextInt(4) : 1 + random.nextInt(20_000);
+            int limit = 1 + random.nextInt(2_500);
+
+            IntPredicate appliesAt = effect.appliesAt(amplifier);
+            int period = EffectTicks.period(appliesAt);
+
+            String description = effect.name + " " + amplifier + ", duration " + duration + ", limit " + limit;
+            assertEquals(iterativeQuietTicks(duration, appliesAt, limit),
+                    EffectTicks.quietTicks(duration, period, appliesAt, limit), description);
+        }
+    }
+
+    /** The loop that counted quiet ticks in {@code ServerPlayerWrapper}, for one effect. */
+    private static int iterativeQuietTicks(int duration, IntPredicate appliesAt, int limit) {
+        int n = 0;
+
+        while (n < limit
+                && duration - n > 1
+                && (duration - n - 1) % EffectTicks.UPDATE_INTERVAL != 0
+                && !appliesAt.test(duration - n)) {
+            n++;
+        }
+
+        return n;
+    }
+
+    /** The predicate of vanilla's regeneration, poison and wither effects. */
+    private static IntPredicate periodic(int interval, int amplifier) {
+        int period = interval >> amplifier;
+        return duration -> period <= 0 || duration % period == 0;
+    }
+
+    private record Effect(String name, Amplified predicate) {
+
+        IntPredicate appliesAt(int amplifier) {
+            return predicate.at(amplifier);
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface Amplified {
+
+        IntPredicate at(int amplifier);
+
+    }
+
+}
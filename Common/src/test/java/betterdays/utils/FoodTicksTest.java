@@ -0,0 +1,183 @@
+package betterdays.utils;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test of batched food ticking against ticking one tick at a time. The food data and
+ * player are modelled by {@link VanillaFood}, a transcription of {@code FoodData.tick} in 1.21.4,
+ * and ticked in batches by {@link FoodTicks#tick}, as {@code ServerPlayerWrapper.tickFood} does.
+ */
+class FoodTicksTest {
+
+    private static final int CASES = 20_000;
+
+    @Test
+    void batchedTicksMatchIterativeTicks() {
+        SplittableRandom random = new SplittableRandom(0xF00DL);
+
+        for (int i = 0; i < CASES; i++) {
+            long seed = random.nextLong();
+            SplittableRandom caseRandom = new SplittableRandom(seed);
+            VanillaFood start = VanillaFood.random(caseRandom);
+            long ticks = caseRandom.nextLong(0L, 5_000L);
+
+            VanillaFood iterative = start.copy();
+            for (long t = 0; t < ticks; t++) {
+                iterative.tick();
+            }
+
+            VanillaFood batched = start.copy();
+            FoodTicks.tick(batched, VanillaFood.ACCESS, ticks);
+
+            String description = "seed " + seed + ", " + ticks + " ticks from " + start;
+            assertEquals(iterative.toString(), batched.toString(), description);
+        }
+    }
+
+    /** A player's food data and health, ticked as {@code FoodData.tick} ticks them. */
+    private static final class VanillaFood {
+
+        private static final float MAX_HEALTH = 20.0F;
+
+        static final FoodTicks.Food<VanillaFood> ACCESS = new FoodTicks.Food<>() {
+
+            @Override
+            public void tick(VanillaFood food) {
+                food.tick();
+            }
+
+            @Override
+            public float exhaustion(VanillaFood food) {
+                return food.exhaustion;
+            }
+
+            @Override
+            public float saturation(VanillaFood food) {
+                return food.saturation;
+            }
+
+            @Override
+            public int foodLevel(VanillaFood food) {
+                return food.foodLevel;
+            }
+
+            @Override
+            public int tickTimer(VanillaFood food) {
+                return food.tickTimer;
+            }
+
+            @Override
+            public void setTickTimer(VanillaFood food, int tickTimer) {
+                food.tickTimer = tickTimer;
+            }
+
+            @Override
+            public boolean naturalRegeneration(VanillaFood food) {
+                return food.naturalRegeneration;
+            }
+
+            @Override
+            public boolean isHurt(VanillaFood food) {
+                return food.isHurt();
+            }
+
+        };
+
+        int foodLevel;
+        float saturation;
+        float exhaustion;
+        int tickTimer;
+        float health;
+        boolean naturalRegeneration;
+        /** The difficulty id: 0 peaceful, 1 easy, 2 normal and 3 hard. */
+        int difficulty;
+
+        static VanillaFood random(SplittableRandom random) {
+            VanillaFood food = new VanillaFood();
+            food.foodLevel = random.nextInt(4) == 0 ? 0 : 14 + random.nextInt(7);
+            food.saturation = random.nextInt(3) == 0 ? 0.0F : random.nextInt(21);
+            food.exhaustion = random.nextInt(2) == 0 ? 0.0F : random.nextFloat() * 40.0F;
+            food.tickTimer = random.nextInt(80);
+            food.health = 1 + random.nextInt(20);
+            food.naturalRegeneration = random.nextInt(4) != 0;
+            food.difficulty = random.nextInt(4);
+            return food;
+        }
+
+        VanillaFood copy() {
+            VanillaFood food = new VanillaFood();
+            food.foodLevel = foodLevel;
+            food.saturation = saturation;
+            food.exhaustion = exhaustion;
+            food.tickTimer = tickTimer;
+            food.health = health;
+            food.naturalRegeneration = naturalRegeneration;
+            food.difficulty = difficulty;
+            return food;
+        }
+
+        boolean isHurt() {
+            return health > 0.0F && health < MAX_HEALTH;
+        }
+
+        void tick() {
+            if (exhaustion > 4.0F) {
+                exhaustion -= 4.0F;
+                if (saturation > 0.0F) {
+                    saturation = Math.max(saturation - 1.0F, 0.0F);
+                } else if (difficulty != 0) {
+                    foodLevel = Math.max(foodLevel - 1, 0);
+                }
+            }
+
+            if (naturalRegeneration && saturation > 0.0F && isHurt() && foodLevel >= 20) {
+                tickTimer++;
+                if (tickTimer >= 10) {
+                    float amount = Math.min(saturation, 6.0F);
+                    heal(amount / 6.0F);
+                    addExhaustion(amount);
+                    tickTimer = 0;
+                }
+            } else if (naturalRegeneration && foodLevel >= 18 && isHurt()) {
+                tickTimer++;
+                if (tickTimer >= 80) {
+                    heal(1.0F);
+                    addExhaustion(6.0F);
+                    tickTimer = 0;
+                }
+            } else if (foodLevel <= 0) {
+                tickTimer++;
+                if (tickTimer >= 80) {
+                    if (health > 10.0F || difficulty == 3 || health > 1.0F && difficulty == 2) {
+                        health -= 1.0F;
+                    }
+                    tickTimer = 0;
+                }
+            } else {
+                tickTimer = 0;
+            }
+        }
+
+        private void heal(float amount) {
+            if (health > 0.0F) {
+                health = Math.min(health + amount, MAX_HEALTH);
+            }
+        }
+
+        private void addExhaustion(float amount) {
+            exhaustion = Math.min(exhaustion + amount, 40.0F);
+        }
+
+        @Override
+        public String toString() {
+            return "food " + foodLevel + ", saturation " + saturation + ", exhaustion " + exhaustion
+                    + ", timer " + tickTimer + ", health " + health;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package betterdays.utils;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link MathUtils#binomialQuantile(double, int, double)}, which the statistical random tick
+ * mode uses to sample how many extra random ticks land on each randomly ticking block.
+ */
+class MathUtilsTest {
+
+    // The chance that a random tick lands on one position of a section, and on a snow or ice tick
+    private static final double[] CHANCES = {1D / 4096D, 1D / 48D, 0.3D};
+    private static final int[] TRIALS = {0, 1, 3, 110, 3000, 40_000};
+
+    @Test
+    void quantileMatchesCumulativeDistribution() {
+        for (double chance : CHANCES) {
+            for (int trials : TRIALS) {
+                double cumulative = 0D;
+                double logProbability = trials * Math.log1p(-chance);
+
+                for (int k = 0; k <= trials && cumulative < 1D - 1e-9D; k++) {
+                    if (k > 0) {
+                        logProbability += Math.log(trials - k + 1) - Math.log(k) + Math.log(chance / (1D - chance));
+                    }
+
+                    double probability = Math.exp(logProbability);
+
+                    if (probability < 1e-9D) {
+                        cumulative += probability;
+                        continue;
+                    }
+
+                    String description = trials + " trials at " + chance + ", k = " + k;
+                    assertEquals(k, MathUtils.binomialQuantile(cumulative + probability * 0.01D, trials, chance),
+                            description);
+                    assertEquals(k, MathUtils.binomialQuantile(cumulative + probability * 0.99D, trials, chance),
+                            description);
+                    cumulative += probability;
+                }
+            }
+        }
+    }
+
+    @Test
+    void quantileStaysWithinTrials() {
+        for (double chance : CHANCES) {
+            for (int trials : TRIALS) {
+                int fewest = MathUtils.binomialQuantile(0D, trials, chance);
+                int most = MathUtils.binomialQuantile(Math.nextDown(1D), trials, chance);
+                assertTrue(0 <= fewest && fewest <= most && most <= trials, trials + " trials at " + chance);
+            }
+        }
+    }
+
+    @Test
+    void samplesFitBinomialDistribution() {
+        SplittableRandom random = new SplittableRandom(0xB1A5L);
+        int samples = 200_000;
+
+        for (double chance : CHANCES) {
+            for (int trials : new int[] {110, 3000}) {
+                double mean = trials * chance;
+                int bins = (int) (mean + 10 * Math.sqrt(mean) + 10);
+                long[] observed = new long[Math.min(bins, trials) + 1];
+                double sum = 0D;
+
+                for (int i = 0; i < samples; i++) {
+                    int successes = MathUtils.binomialQuantile(random.nextDouble(), trials, chance);
+                    observed[Math.min(successes, observed.length - 1)]++;
+                    sum += successes;
+                }
+
+                String description = trials + " trials at " + chance;
+                double standardError = Math.sqrt(mean * (1D - chance) / samples);
+                assertEquals(mean, sum / samples, 5D * standardError, description);
+                double z = chiSquareScore(observed, trials, chance, samples);
+                assertTrue(z < 3.1D, description + ", chi-squared z-score " + z);
+            }
+        }
+    }
+
+    /**
+     * Runs Pearson's chi-squared test on {@code observed}, pooling the bins with fewer than five
+     * expected samples. Returns the statistic as a standard normal score, which is above 3.1 with
+     * a probability of about 0.001 if the samples follow the distribution.
+     */
+    private static double chiSquareScore(long[] observed, int trials, double chance, int samples) {
+        double statistic = 0D;
+        int degrees = -1;
+        double pooledExpected = 0D;
+        long pooledObserved = 0L;
+
+        for (int k = 0; k < observed.length; k++) {
+            double expected = samples * pmf(trials, chance, k);
+            pooledExpected += expected;
+            pooledObserved += observed[k];
+
+            if (pooledExpected >= 5D) {
+                statistic += square(pooledObserved - pooledExpected) / pooledExpected;
+                degrees++;
+                pooledExpected = 0D;
+                pooledObserved = 0L;
+            }
+        }
+
+        // Wilson-Hilferty approximation of the upper tail of the chi-squared distribution
+        return (Math.cbrt(statistic / degrees) - (1D - 2D / (9D * degrees))) / Math.sqrt(2D / (9D * degrees));
+    }
+
+    /** {@return the probability of {@code k} successes in {@code trials} trials, computed in log space} */
+    private static double pmf(int trials, double chance, int k) {
+        double log = k * Math.log(chance) + (trials - k) * Math.log1p(-chance);
+
+        for (int i = 0; i < k; i++) {
+            log += Math.log(trials - i) - Math.log(i + 1);
+        }
+
+        return Math.exp(log);
+    }
+
+    private static double square(double x) {
+        return x * x;
+    }
+
+}
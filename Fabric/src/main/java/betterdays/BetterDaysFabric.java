@@ -1,14 +1,17 @@
 package betterdays;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 
 import betterdays.event.ServerEventListener;
+import betterdays.network.TimeSyncPayload;
 
 public class BetterDaysFabric implements ModInitializer {
 
     @Override
     public void onInitialize() {
         BetterDays.init();
+        PayloadTypeRegistry.playS2C().register(TimeSyncPayload.TYPE, TimeSyncPayload.STREAM_CODEC);
         ServerEventListener.setup();
     }
 
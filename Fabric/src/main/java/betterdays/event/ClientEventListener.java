@@ -1,12 +1,14 @@
 package betterdays.event;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
 
 import net.minecraft.client.gui.screens.InBedChatScreen;
 
 import betterdays.client.gui.SleepGui;
 import betterdays.client.TimeInterpolator;
+import betterdays.network.TimeSyncPayload;
 
 public class ClientEventListener {
 
@@ -20,6 +22,10 @@ public class ClientEventListener {
         });
 
         ClientTickEvents.END_CLIENT_TICK.register(TimeInterpolator::onClientTickEvent);
+
+        ClientPlayNetworking.registerGlobalReceiver(TimeSyncPayload.TYPE, (payload, context) -> {
+            TimeInterpolator.onTimeSync(payload);
+        });
     }
 
 }
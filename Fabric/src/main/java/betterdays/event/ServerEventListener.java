@@ -1,12 +1,16 @@
 package betterdays.event;
 
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.entity.event.v1.EntitySleepEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.InteractionResult;
 
+import betterdays.command.BetterDaysCommand;
+import betterdays.config.ConfigHandler;
 import betterdays.message.BetterDaysMessages;
 import betterdays.time.TimeServiceManager;
 
@@ -37,6 +41,10 @@ public class ServerEventListener {
             }
         }));
 
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+            ConfigHandler.Common.onServerStarting();
+        });
+
         ServerWorldEvents.LOAD.register((server, level) -> {
             TimeServiceManager.onWorldLoad(level);
         });
@@ -46,6 +54,10 @@ public class ServerEventListener {
         });
 
         ServerTickEvents.START_WORLD_TICK.register(TimeServiceManager::onWorldTick);
+
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
+            BetterDaysCommand.register(dispatcher);
+        });
     }
 
 }
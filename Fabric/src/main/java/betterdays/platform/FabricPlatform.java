@@ -1,32 +1,21 @@
 package betterdays.platform;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.HashMap;
-
-import org.jetbrains.annotations.NotNull;
-
 import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 
 import betterdays.message.BetterDaysMessages;
+import betterdays.network.TimeSyncPayload;
 import betterdays.platform.services.IPlatform;
 import betterdays.wrappers.ServerLevelWrapper;
 
 public class FabricPlatform implements IPlatform {
 
-    static HashMap<String, String> loomMapping = new HashMap<>();
-
-    static {
-        loomMapping.put("tickBlockEntities", "method_18471");
-        loomMapping.put("sleepStatus", "field_28859");
-        loomMapping.put("tickEffects", "method_6050");
-    }
-
     @Override
     public ResourceLocation getResourceLocation(Item item) {
         return BuiltInRegistries.ITEM.getKey(item);
@@ -48,19 +37,13 @@ public class FabricPlatform implements IPlatform {
     }
 
     @Override
-    public @NotNull Field findField(@NotNull Class<?> clazz, @NotNull String name) throws NoSuchFieldException {
-        String mappedName = FabricLoader.getInstance().isDevelopmentEnvironment() ? name : loomMapping.get(name);
-        final Field field = clazz.getDeclaredField(mappedName);
-        field.setAccessible(true);
-        return field;
+    public boolean canReceiveTimeSync(ServerPlayer player) {
+        return ServerPlayNetworking.canSend(player, TimeSyncPayload.TYPE);
     }
 
     @Override
-    public @NotNull Method findMethod(@NotNull Class<?> clazz, @NotNull String name, Class<?> @NotNull ... parameters) throws NoSuchMethodException {
-        String mappedName = FabricLoader.getInstance().isDevelopmentEnvironment() ? name : loomMapping.get(name);
-        final Method method = clazz.getDeclaredMethod(mappedName, parameters);
-        method.setAccessible(true);
-        return method;
+    public void sendTimeSync(ServerPlayer player, TimeSyncPayload payload) {
+        ServerPlayNetworking.send(player, payload);
     }
 
 }
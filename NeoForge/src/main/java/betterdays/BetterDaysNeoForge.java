@@ -6,8 +6,11 @@ import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 
+import betterdays.client.TimeInterpolator;
 import betterdays.event.ServerEventListener;
+import betterdays.network.TimeSyncPayload;
 
 @Mod(BetterDays.MODID)
 public class BetterDaysNeoForge {
@@ -21,10 +24,16 @@ public class BetterDaysNeoForge {
         }
 
         eventBus.addListener(this::setup);
+        eventBus.addListener(this::registerPayloads);
     }
 
     private void setup(final FMLCommonSetupEvent event) {
         NeoForge.EVENT_BUS.register(new ServerEventListener());
     }
 
+    private void registerPayloads(final RegisterPayloadHandlersEvent event) {
+        event.registrar("1").optional().playToClient(TimeSyncPayload.TYPE, TimeSyncPayload.STREAM_CODEC,
+                (payload, context) -> TimeInterpolator.onTimeSync(payload));
+    }
+
 }
@@ -4,12 +4,16 @@ import net.minecraft.world.entity.player.Player;
 
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.entity.player.CanContinueSleepingEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerWakeUpEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.level.SleepFinishedTimeEvent;
+import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
+import betterdays.command.BetterDaysCommand;
+import betterdays.config.ConfigHandler;
 import betterdays.message.BetterDaysMessages;
 import betterdays.time.TimeServiceManager;
 
@@ -46,6 +50,11 @@ public class ServerEventListener {
         BetterDaysMessages.onSleepFinishedEvent(event.getLevel());
     }
 
+    @SubscribeEvent
+    public void onServerAboutToStart(ServerAboutToStartEvent event) {
+        ConfigHandler.Common.onServerStarting();
+    }
+
     @SubscribeEvent
     public void onWorldLoad(LevelEvent.Load event) {
         TimeServiceManager.onWorldLoad(event.getLevel());
@@ -61,4 +70,9 @@ public class ServerEventListener {
         TimeServiceManager.onWorldTick(event.getLevel());
     }
 
+    @SubscribeEvent
+    public void onRegisterCommands(RegisterCommandsEvent event) {
+        BetterDaysCommand.register(event.getDispatcher());
+    }
+
 }
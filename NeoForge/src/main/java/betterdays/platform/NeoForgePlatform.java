@@ -1,21 +1,18 @@
 package betterdays.platform;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
-import org.jetbrains.annotations.NotNull;
-
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.fml.ModList;
 import net.neoforged.fml.loading.FMLLoader;
-import net.neoforged.fml.util.ObfuscationReflectionHelper;
 import net.neoforged.neoforge.event.EventHooks;
+import net.neoforged.neoforge.network.PacketDistributor;
 
 import net.minecraft.core.registries.BuiltInRegistries;
 
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 
+import betterdays.network.TimeSyncPayload;
 import betterdays.platform.services.IPlatform;
 import betterdays.wrappers.ServerLevelWrapper;
 
@@ -42,27 +39,13 @@ public class NeoForgePlatform implements IPlatform {
     }
 
     @Override
-    public @NotNull Field findField(@NotNull Class<?> clazz, @NotNull String name) throws NoSuchFieldException {
-        try {
-            final Field field = ObfuscationReflectionHelper.findField(clazz, name);
-            field.setAccessible(true);
-            return field;
-        }
-        catch (Exception e) {
-            throw new NoSuchFieldException(e.toString());
-        }
+    public boolean canReceiveTimeSync(ServerPlayer player) {
+        return player.connection.hasChannel(TimeSyncPayload.TYPE);
     }
 
     @Override
-    public @NotNull Method findMethod(@NotNull Class<?> clazz, @NotNull String name, Class<?> @NotNull ... parameters) throws NoSuchMethodException {
-        try {
-            final Method method = ObfuscationReflectionHelper.findMethod(clazz, name);
-            method.setAccessible(true);
-            return method;
-        }
-        catch (Exception e) {
-            throw new NoSuchMethodException(e.toString());
-        }
+    public void sendTimeSync(ServerPlayer player, TimeSyncPayload payload) {
+        PacketDistributor.sendToPlayer(player, payload);
     }
 
 }
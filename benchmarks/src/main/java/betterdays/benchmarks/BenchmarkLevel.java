@@ -0,0 +1,61 @@
+package betterdays.benchmarks;
+
+import betterdays.time.TimeAccumulator;
+import betterdays.time.engine.DayClock;
+import betterdays.time.engine.EffectSink;
+import betterdays.time.engine.PlayerCensus;
+
+/**
+ * A level reduced to its day time and player counts, for driving a
+ * {@link betterdays.time.engine.TimeEngine} without a running game. Players fall asleep at night and
+ * are woken at morning, as they would be in game.
+ */
+final class BenchmarkLevel implements DayClock, PlayerCensus, EffectSink {
+
+    private final int sleepersAtNight;
+
+    long dayTime;
+    int activePlayers;
+    int sleepingPlayers;
+    double elapsed;
+
+    BenchmarkLevel(int activePlayers, int sleepersAtNight) {
+        this.activePlayers = activePlayers;
+        this.sleepersAtNight = sleepersAtNight;
+    }
+
+    @Override
+    public long getDayTime() {
+        return dayTime;
+    }
+
+    @Override
+    public void setDayTime(long dayTime) {
+        this.dayTime = dayTime;
+    }
+
+    @Override
+    public int amountSleeping() {
+        return sleepingPlayers;
+    }
+
+    @Override
+    public int amountActive() {
+        return activePlayers;
+    }
+
+    @Override
+    public void onTimeAdvanced(TimeAccumulator dayTime, double timeDelta) {
+        elapsed += timeDelta;
+
+        if (dayTime.timeOfDay() >= 13000D) {
+            sleepingPlayers = sleepersAtNight;
+        }
+    }
+
+    @Override
+    public void onMorning() {
+        sleepingPlayers = 0;
+    }
+
+}
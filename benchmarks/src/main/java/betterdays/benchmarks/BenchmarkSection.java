@@ -0,0 +1,75 @@
+package betterdays.benchmarks;
+
+import java.util.SplittableRandom;
+
+import betterdays.utils.MathUtils;
+
+/**
+ * A chunk section reduced to a farm of crops, for comparing ways of adding random ticks without a
+ * running game. Positions are picked as {@code ServerLevel.getBlockRandomPos} picks them, and a
+ * random tick on a crop grows it as {@code CropBlock.randomTick} might, replanting it once grown so
+ * that the farm keeps ticking.
+ */
+final class BenchmarkSection {
+
+    /** The random ticks per section per tick at the default 'random tick speed' game rule. */
+    static final int RANDOM_TICK_SPEED = 3;
+
+    private static final int SIZE = 4096;
+    private static final int MAX_AGE = 7;
+    // The chance that a random tick lands on any one position, as in RandomTickAccelerator
+    private static final double POSITION_CHANCE = 1D / SIZE;
+
+    // The age of the crop at each position plus one, or 0 where there is no crop
+    private final byte[] crops = new byte[SIZE];
+    // The positions that hold crops, as RandomTickingSection lists them
+    private final short[] cropPositions;
+    private final SplittableRandom random = new SplittableRandom(0x5EC7L);
+    private int randValue = 0x1234567;
+
+    int grown;
+
+    BenchmarkSection(int cropCount) {
+        cropPositions = new short[cropCount];
+        // Spread the crops over the section with a stride coprime to its size
+        for (int i = 0; i < cropCount; i++) {
+            int pos = i * 1021 % SIZE;
+            crops[pos] = 1;
+            cropPositions[i] = (short) pos;
+        }
+    }
+
+    /** Performs {@code ticks} random ticks at random positions, as vanilla does. */
+    void tickRandomPositions(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            randValue = randValue * 3 + 1013904223;
+            int pos = randValue >> 2 & (SIZE - 1);
+
+            if (crops[pos] != 0) {
+                randomTick(pos);
+            }
+        }
+    }
+
+    /**
+     * Samples how many of {@code ticks} random ticks land on each crop, then performs that many
+     * random ticks on it, as the statistical mode of {@code RandomTickAccelerator} does.
+     */
+    void sampleCropPositions(int ticks) {
+        for (short pos : cropPositions) {
+            int hits = MathUtils.binomialQuantile(random.nextDouble(), ticks, POSITION_CHANCE);
+
+            for (int hit = 0; hit < hits; hit++) {
+                randomTick(pos);
+            }
+        }
+    }
+
+    private void randomTick(int pos) {
+        if (random.nextInt(4) == 0) {
+            crops[pos] = (byte) (crops[pos] > MAX_AGE ? 1 : crops[pos] + 1);
+            grown++;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+
+import com.illusivesoulworks.spectrelib.config.SpectreConfigSpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import betterdays.time.effects.EffectCondition;
+import betterdays.time.effects.RandomTickMode;
+
+/**
+ * Compares reading the config values used every tick through {@link SpectreConfigSpec} values, as the
+ * config getters used to, with reading them from an immutable snapshot published through a volatile
+ * reference, as {@link betterdays.config.ConfigHandler.Common} does now.
+ *
+ * <p>The spec is built here rather than taken from {@code ConfigHandler}, which needs the platform
+ * services to take a snapshot. Both sides read the same values with the same types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigSnapshotBenchmark {
+
+    private SpectreConfigSpec.DoubleValue daySpeed;
+    private SpectreConfigSpec.DoubleValue nightSpeed;
+    private SpectreConfigSpec.BooleanValue wallClockTime;
+    private SpectreConfigSpec.EnumValue<EffectCondition> weatherEffect;
+    private SpectreConfigSpec.EnumValue<EffectCondition> randomTickEffect;
+    private SpectreConfigSpec.EnumValue<RandomTickMode> randomTickMode;
+    private SpectreConfigSpec.DoubleValue randomTickBudget;
+    private SpectreConfigSpec.EnumValue<EffectCondition> blockEntityEffect;
+
+    private volatile Snapshot snapshot;
+
+    @Setup
+    public void setup() {
+        SpectreConfigSpec.Builder builder = new SpectreConfigSpec.Builder();
+
+        daySpeed = builder.defineInRange("daySpeed", 1D, 0D, 24000D);
+        nightSpeed = builder.defineInRange("nightSpeed", 1D, 0D, 24000D);
+        wallClockTime = builder.define("wallClockTime", false);
+        weatherEffect = builder.defineEnum("weatherEffect", EffectCondition.SLEEPING);
+        randomTickEffect = builder.defineEnum("randomTickEffect", EffectCondition.ALWAYS);
+        randomTickMode = builder.defineEnum("randomTickMode", RandomTickMode.EXACT);
+        randomTickBudget = builder.defineInRange("randomTickBudget", 5D, 0D, 1000D);
+        blockEntityEffect = builder.defineEnum("blockEntityEffect", EffectCondition.SLEEPING);
+
+        SpectreConfigSpec spec = builder.build();
+        spec.setConfig(CommentedConfig.inMemory());
+
+        snapshot = new Snapshot(this);
+    }
+
+    @Benchmark
+    public void specValues(Blackhole blackhole) {
+        blackhole.consume(daySpeed.get());
+        blackhole.consume(nightSpeed.get());
+        blackhole.consume(wallClockTime.get());
+        blackhole.consume(weatherEffect.get());
+        blackhole.consume(randomTickEffect.get());
+        blackhole.consume(randomTickMode.get());
+        blackhole.consume((long) (randomTickBudget.get() * 1_000_000D));
+        blackhole.consume(blockEntityEffect.get());
+    }
+
+    @Benchmark
+    public void snapshotValues(Blackhole blackhole) {
+        blackhole.consume(snapshot.daySpeed);
+        blackhole.consume(snapshot.nightSpeed);
+        blackhole.consume(snapshot.wallClockTime);
+        blackhole.consume(snapshot.weatherEffect);
+        blackhole.consume(snapshot.randomTickEffect);
+        blackhole.consume(snapshot.randomTickMode);
+        blackhole.consume(snapshot.randomTickBudgetNanos);
+        blackhole.consume(snapshot.blockEntityEffect);
+    }
+
+    private static final class Snapshot {
+        private final double daySpeed;
+        private final double nightSpeed;
+        private final boolean wallClockTime;
+        private final EffectCondition weatherEffect;
+        private final EffectCondition randomTickEffect;
+        private final RandomTickMode randomTickMode;
+        private final long randomTickBudgetNanos;
+        private final EffectCondition blockEntityEffect;
+
+        private Snapshot(ConfigSnapshotBenchmark config) {
+            this.daySpeed = config.daySpeed.get();
+            this.nightSpeed = config.nightSpeed.get();
+            this.wallClockTime = config.wallClockTime.get();
+            this.weatherEffect = config.weatherEffect.get();
+            this.randomTickEffect = config.randomTickEffect.get();
+            this.randomTickMode = config.randomTickMode.get();
+            this.randomTickBudgetNanos = (long) (config.randomTickBudget.get() * 1_000_000D);
+            this.blockEntityEffect = config.blockEntityEffect.get();
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import betterdays.utils.FoodTicks;
+
+/**
+ * Compares ticking food data one tick at a time with the batched ticking of {@link FoodTicks#tick},
+ * which {@code ServerPlayerWrapper.tickFood} delegates to, for the extra ticks of one sleeping tick.
+ * The food data is modelled on plain fields, following {@code FoodData.tick}, since the real one
+ * needs a running server.
+ *
+ * <p>The batched cost still grows with {@code ticks}: a hurt, well fed player heals every 10 ticks,
+ * and each heal is a real tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FoodTickBenchmark {
+
+    /** The number of food ticks per invocation, the extra ticks of one tick at that time-speed. */
+    @Param({"10", "110"})
+    public int ticks;
+
+    private static final FoodTicks.Food<FoodTickBenchmark> ACCESS = new FoodTicks.Food<>() {
+
+        @Override
+        public void tick(FoodTickBenchmark food) {
+            food.tick();
+        }
+
+        @Override
+        public float exhaustion(FoodTickBenchmark food) {
+            return food.exhaustion;
+        }
+
+        @Override
+        public float saturation(FoodTickBenchmark food) {
+            return food.saturation;
+        }
+
+        @Override
+        public int foodLevel(FoodTickBenchmark food) {
+            return food.foodLevel;
+        }
+
+        @Override
+        public int tickTimer(FoodTickBenchmark food) {
+            return food.tickTimer;
+        }
+
+        @Override
+        public void setTickTimer(FoodTickBenchmark food, int tickTimer) {
+            food.tickTimer = tickTimer;
+        }
+
+        @Override
+        public boolean naturalRegeneration(FoodTickBenchmark food) {
+            return true;
+        }
+
+        @Override
+        public boolean isHurt(FoodTickBenchmark food) {
+            return food.health < 20.0F;
+        }
+
+    };
+
+    private int foodLevel;
+    private float saturation;
+    private float exhaustion;
+    private int tickTimer;
+    private float health;
+
+    @Setup
+    public void setup() {
+        // A hurt, well fed player, who regenerates and grows hungry
+        foodLevel = 20;
+        saturation = 5.0F;
+        exhaustion = 0.0F;
+        tickTimer = 0;
+        health = 10.0F;
+    }
+
+    @Benchmark
+    public int iterative() {
+        reset();
+
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+
+        return foodLevel + tickTimer;
+    }
+
+    @Benchmark
+    public int batched() {
+        reset();
+        FoodTicks.tick(this, ACCESS, ticks);
+
+        return foodLevel + tickTimer;
+    }
+
+    private void reset() {
+        if (health >= 20.0F || foodLevel < 18) {
+            setup();
+        }
+    }
+
+    private void tick() {
+        if (exhaustion > 4.0F) {
+            exhaustion -= 4.0F;
+            if (saturation > 0.0F) {
+                saturation = Math.max(saturation - 1.0F, 0.0F);
+            } else {
+                foodLevel = Math.max(foodLevel - 1, 0);
+            }
+        }
+
+        boolean hurt = health < 20.0F;
+
+        if (saturation > 0.0F && hurt && foodLevel >= 20) {
+            if (++tickTimer >= 10) {
+                float amount = Math.min(saturation, 6.0F);
+                health = Math.min(health + amount / 6.0F, 20.0F);
+                exhaustion = Math.min(exhaustion + amount, 40.0F);
+                tickTimer = 0;
+            }
+        } else if (foodLevel >= 18 && hurt) {
+            if (++tickTimer >= 80) {
+                health = Math.min(health + 1.0F, 20.0F);
+                exhaustion = Math.min(exhaustion + 6.0F, 40.0F);
+                tickTimer = 0;
+            }
+        } else {
+            tickTimer = 0;
+        }
+    }
+
+}
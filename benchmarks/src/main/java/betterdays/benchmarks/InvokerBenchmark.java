@@ -0,0 +1,87 @@
+package betterdays.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways of calling a private method of another class per invocation: looking the method
+ * up and invoking it reflectively on every call, as {@code ServerLevelWrapper} used to, invoking a
+ * cached {@link Method}, and calling it through an interface the class implements, which is what an
+ * {@code @Invoker} mixin adds to the target class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvokerBenchmark {
+
+    private final Target target = new Target();
+    private Method cachedMethod;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        cachedMethod = findMethod();
+    }
+
+    @Benchmark
+    public long lookupAndInvoke() throws ReflectiveOperationException {
+        findMethod().invoke(target);
+        return target.ticks;
+    }
+
+    @Benchmark
+    public long cachedInvoke() throws ReflectiveOperationException {
+        cachedMethod.invoke(target);
+        return target.ticks;
+    }
+
+    @Benchmark
+    public long invoker() {
+        ((TargetInvoker) target).betterdays$tickBlockEntities();
+        return target.ticks;
+    }
+
+    private static Method findMethod() throws NoSuchMethodException {
+        Method method = Target.class.getDeclaredMethod("tickBlockEntities");
+        method.setAccessible(true);
+
+        return method;
+    }
+
+    /** Stands in for the interface an {@code @Invoker} mixin declares. */
+    public interface TargetInvoker {
+
+        void betterdays$tickBlockEntities();
+
+    }
+
+    /** Stands in for a Minecraft class after the invoker mixin has been applied to it. */
+    public static class Target implements TargetInvoker {
+
+        private long ticks;
+
+        private void tickBlockEntities() {
+            ticks++;
+        }
+
+        @Override
+        public void betterdays$tickBlockEntities() {
+            tickBlockEntities();
+        }
+
+    }
+
+}
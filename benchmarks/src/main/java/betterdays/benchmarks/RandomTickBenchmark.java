@@ -0,0 +1,77 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the tick cost of one farm section at an accelerated time-speed: with the 'random tick
+ * speed' game rule raised to match, and with vanilla's random ticks plus the extra ticks of
+ * {@code RandomTickAccelerator} in its exact and statistical modes. Multiplying a score by the
+ * number of such sections in loaded chunks gives its share of the MSPT.
+ *
+ * <p>The section is modelled by {@link BenchmarkSection}, since real sections need a running server,
+ * so the scores compare the ways of placing random ticks rather than the cost of real block ticks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomTickBenchmark {
+
+    /** The time-speed, so {@code speed - 1} extra random ticks are owed for each vanilla one. */
+    @Param({"10", "110"})
+    public int speed;
+
+    /** The number of crops in the section. */
+    @Param({"256"})
+    public int crops;
+
+    private BenchmarkSection section;
+
+    @Setup
+    public void setup() {
+        section = new BenchmarkSection(crops);
+    }
+
+    @Benchmark
+    public int gameRule() {
+        section.tickRandomPositions(BenchmarkSection.RANDOM_TICK_SPEED * speed);
+
+        return section.grown;
+    }
+
+    @Benchmark
+    public long exact() {
+        section.tickRandomPositions(BenchmarkSection.RANDOM_TICK_SPEED);
+
+        // The accelerator reads the clock around each section to keep to its budget
+        long start = System.nanoTime();
+        section.tickRandomPositions(BenchmarkSection.RANDOM_TICK_SPEED * (speed - 1));
+
+        return section.grown + System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public long statistical() {
+        section.tickRandomPositions(BenchmarkSection.RANDOM_TICK_SPEED);
+
+        long start = System.nanoTime();
+        section.sampleCropPositions(BenchmarkSection.RANDOM_TICK_SPEED * (speed - 1));
+
+        return section.grown + System.nanoTime() - start;
+    }
+
+}
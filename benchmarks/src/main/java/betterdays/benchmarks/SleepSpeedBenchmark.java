@@ -0,0 +1,53 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import betterdays.time.TimeSpeedSchedule;
+import betterdays.utils.MathUtils;
+
+/**
+ * Measures the sleep time-speed math: the sigmoid that maps the sleeping ratio to a time-speed, and
+ * building the time-speed table that the engine caches per active player count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SleepSpeedBenchmark {
+
+    @Param({"4", "64"})
+    public int activePlayers;
+
+    private int sleeping;
+
+    @Benchmark
+    public double normalizedTunableSigmoid() {
+        sleeping = (sleeping + 1) % (activePlayers + 1);
+        return MathUtils.normalizedTunableSigmoid((double) sleeping / activePlayers, 0.3D);
+    }
+
+    @Benchmark
+    public double[] sleepSpeeds() {
+        return TimeEngineBenchmark.SCHEDULE.sleepSpeeds(activePlayers);
+    }
+
+    @Benchmark
+    public double integrateDay() {
+        TimeSpeedSchedule schedule = TimeEngineBenchmark.SCHEDULE;
+        return schedule.integrate(6000D, 24000D);
+    }
+
+}
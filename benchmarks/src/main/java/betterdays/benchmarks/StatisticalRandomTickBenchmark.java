@@ -0,0 +1,53 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the extra random ticks of one section in the statistical mode of
+ * {@code RandomTickAccelerator} across numbers of crops and time-speeds, to show that its cost
+ * follows the number of crops rather than the number of extra ticks. The section is modelled by
+ * {@link BenchmarkSection}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatisticalRandomTickBenchmark {
+
+    /** The time-speed, so {@code speed - 1} extra random ticks are owed for each vanilla one. */
+    @Param({"10", "110", "1000"})
+    public int speed;
+
+    /** The number of crops in the section. */
+    @Param({"16", "256", "4096"})
+    public int crops;
+
+    private BenchmarkSection section;
+
+    @Setup
+    public void setup() {
+        section = new BenchmarkSection(crops);
+    }
+
+    @Benchmark
+    public int sampleSection() {
+        section.sampleCropPositions(BenchmarkSection.RANDOM_TICK_SPEED * (speed - 1));
+
+        return section.grown;
+    }
+
+}
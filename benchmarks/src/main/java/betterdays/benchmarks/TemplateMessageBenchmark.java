@@ -0,0 +1,59 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import betterdays.message.MessageContext;
+import betterdays.message.TemplateMessage;
+
+/**
+ * Measures baking a sleep notification: once with the context unchanged since the last bake, and
+ * once with a new sleeping player count each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateMessageBenchmark {
+
+    private static final String TEMPLATE =
+            "${player} is now sleeping. [${sleepingPlayers}/${totalPlayers}] (${sleepingPercentage}%)";
+
+    private TemplateMessage message;
+    private MessageContext[] contexts;
+    private int index;
+
+    @Setup
+    public void setup() {
+        message = TemplateMessage.compile(TEMPLATE);
+        contexts = new MessageContext[8];
+
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new MessageContext("Steve", 8, i + 1, (i + 1) * 100 / 8, 100);
+        }
+    }
+
+    @Benchmark
+    public TemplateMessage bakeUnchanged() {
+        return message.bake(contexts[0]);
+    }
+
+    @Benchmark
+    public TemplateMessage bakeChanged() {
+        index = (index + 1) % contexts.length;
+        return message.bake(contexts[index]);
+    }
+
+}
@@ -0,0 +1,52 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import betterdays.time.Time;
+import betterdays.time.TimeAccumulator;
+
+/**
+ * Compares advancing an immutable {@link Time} with advancing a reused {@link TimeAccumulator} by the
+ * same fractional amounts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeBenchmark {
+
+    private static final double DELTA = 0.37D;
+
+    private Time time = new Time(0L, 0D);
+    private final TimeAccumulator accumulator = new TimeAccumulator();
+
+    @Benchmark
+    public double timeAdd() {
+        time = time.add(DELTA);
+        return time.timeOfDay().doubleValue();
+    }
+
+    @Benchmark
+    public double accumulatorAdd() {
+        return accumulator.add(DELTA).timeOfDay();
+    }
+
+    @Benchmark
+    public boolean crossedMorning() {
+        long before = accumulator.longValue();
+        return Time.crossedMorning(before, accumulator.add(DELTA).longValue());
+    }
+
+}
@@ -0,0 +1,71 @@
+package betterdays.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import betterdays.time.TickTimeGovernor;
+import betterdays.time.Time;
+import betterdays.time.TimeSpeedSchedule;
+import betterdays.time.engine.TimeEngine;
+
+/**
+ * Measures the per-tick time advance of {@link TimeEngine}: time-speed selection, the overshoot
+ * correction at the day, night and morning transitions, and the sleep time-speed table lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeEngineBenchmark {
+
+    static final TimeSpeedSchedule SCHEDULE =
+            new TimeSpeedSchedule(true, 23500D, 12500D, 2D, 0.5D, 1D, 110D, -1D, 0.3D);
+
+    /** The number of players who fall asleep at night, out of 4. */
+    @Param({"0", "1", "4"})
+    public int sleepers;
+
+    private BenchmarkLevel level;
+    private TickTimeGovernor governor;
+    private TimeEngine engine;
+
+    @Setup
+    public void setup() {
+        level = new BenchmarkLevel(4, sleepers);
+        governor = new TickTimeGovernor();
+        engine = new TimeEngine(level, level, governor, () -> SCHEDULE);
+    }
+
+    /** Advances one tick, cycling through days, nights and, with sleepers, mornings. */
+    @Benchmark
+    public double tick() {
+        return engine.tick(1D, level);
+    }
+
+    /** Advances one tick with the governor throttling the sleep time-speed. */
+    @Benchmark
+    public double throttledTick() {
+        governor.update(60_000_000L, level.sleepingPlayers > 0, 45D, 0.2D);
+        return engine.tick(1D, level);
+    }
+
+    /** Skips a full day at once, as the fast-forward path does after a long absence. */
+    @Benchmark
+    public Time fastForwardDay() {
+        return engine.fastForward(Time.DAY_TICKS, level);
+    }
+
+}